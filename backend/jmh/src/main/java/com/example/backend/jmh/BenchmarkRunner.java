@@ -0,0 +1,22 @@
+package com.example.backend.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Accepts the usual JMH command line, but always records results as JSON so runs can be diffed between releases
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        String result = System.getProperty("jmh.result", "target/jmh-result.json");
+        
+        new Runner(new OptionsBuilder()
+            .parent(commandLine)
+            .resultFormat(ResultFormatType.JSON)
+            .result(result)
+            .build()).run();
+    }
+
+}
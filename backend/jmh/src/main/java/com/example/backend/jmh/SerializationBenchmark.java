@@ -0,0 +1,48 @@
+package com.example.backend.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.backend.dto.BookDetail;
+import com.example.backend.support.ClubFixture;
+import com.example.backend.support.ClubFixture.Shape;
+
+import tools.jackson.databind.json.JsonMapper;
+
+// Cost of rendering the full book -> week -> chapter -> comment detail the way GET /api/books/current does
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"10", "100"})
+    private int commentsPerChapter;
+    
+    private JsonMapper mapper;
+    private BookDetail book;
+    
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().build();
+        Shape shape = new Shape(50, 12, 3, commentsPerChapter, 0, 0, 0);
+        book = ClubFixture.bookDetail(ClubFixture.book(shape, ClubFixture.users(shape.readers())));
+    }
+    
+    @Benchmark
+    public byte[] serializeBookGraph() {
+        return mapper.writeValueAsBytes(book);
+    }
+}
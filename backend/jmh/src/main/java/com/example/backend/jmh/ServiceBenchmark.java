@@ -0,0 +1,83 @@
+package com.example.backend.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.backend.dto.CommentDetail;
+import com.example.backend.dto.CommentPage;
+import com.example.backend.dto.ProgressSummary;
+import com.example.backend.dto.UserDetail;
+import com.example.backend.dto.WeekDetail;
+import com.example.backend.service.CommentService;
+import com.example.backend.service.UserService;
+import com.example.backend.service.WeekService;
+import com.example.backend.support.ClubFixture;
+import com.example.backend.support.ClubFixture.Club;
+import com.example.backend.support.EmbeddedBackend;
+
+// Service calls behind the busiest endpoints, end to end through JPA against a seeded embedded PostgreSQL
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class ServiceBenchmark {
+    private EmbeddedBackend backend;
+    private CommentService commentService;
+    private WeekService weekService;
+    private UserService userService;
+    private Club club;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        backend = EmbeddedBackend.start();
+        commentService = backend.context().getBean(CommentService.class);
+        weekService = backend.context().getBean(WeekService.class);
+        userService = backend.context().getBean(UserService.class);
+        club = ClubFixture.seed(backend.context(), ClubFixture.Shape.HOT_CHAPTER);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        backend.close();
+    }
+    
+    @Benchmark
+    public CommentPage hotChapterFirstPage() {
+        return commentService.getCommentPage(club.hotChapterId(), null, 20);
+    }
+    
+    @Benchmark
+    public List<CommentDetail> hotChapterFullList() {
+        return commentService.getCommentsByChapter(club.hotChapterId());
+    }
+    
+    @Benchmark
+    public List<WeekDetail> weeksByBook() {
+        return weekService.getWeeksByBook(club.bookId());
+    }
+    
+    @Benchmark
+    public UserDetail userById() {
+        return userService.getUserById(club.readers().get(0).id());
+    }
+    
+    @Benchmark
+    public ProgressSummary readerProgress() {
+        return userService.getReaderProgress();
+    }
+}
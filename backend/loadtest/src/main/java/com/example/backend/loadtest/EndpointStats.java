@@ -0,0 +1,41 @@
+package com.example.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// Client-side view of one scenario: every latency is kept so percentiles are exact rather than bucketed
+class EndpointStats {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final Queue<Long> latenciesNanos = new ConcurrentLinkedQueue<>();
+    
+    void record(long latencyNanos, boolean error, int responseBytes) {
+        requests.increment();
+        if (error) {
+            errors.increment();
+        }
+        bytes.add(responseBytes);
+        latenciesNanos.add(latencyNanos);
+    }
+    
+    long requests() {
+        return requests.sum();
+    }
+    
+    long errors() {
+        return errors.sum();
+    }
+    
+    long bytes() {
+        return bytes.sum();
+    }
+    
+    long[] sortedLatencies() {
+        long[] sorted = latenciesNanos.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.backend.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import com.example.backend.support.ClubFixture.Club;
+import com.example.backend.support.ClubFixture.Reader;
+
+import tools.jackson.databind.json.JsonMapper;
+
+// Holds open idle comment streams and reports the heap they cost per connection. Client and server share the
+// JVM, so the figure includes both ends and is an upper bound for the server alone.
+final class IdleStreamProbe {
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+    
+    private IdleStreamProbe() {
+    }
+    
+    record Result(int connections, long heapBytesPerConnection) {
+    }
+    
+    static Result measure(URI baseUri, Club club, int connections) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        
+        // Stream tokens are fetched up front so their requests stay out of the heap figure
+        List<URI> uris = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            Reader reader = club.readers().get(i % club.readers().size());
+            Long chapterId = club.chapterIds().get(i % club.chapterIds().size());
+            uris.add(baseUri.resolve("/api/comments/chapter/" + chapterId + "/stream?access_token="
+                + streamToken(client, baseUri, reader)));
+        }
+        long before = settledHeap(memory);
+        
+        List<CompletableFuture<HttpResponse<Stream<String>>>> pending = new ArrayList<>();
+        for (URI uri : uris) {
+            pending.add(client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofLines()));
+        }
+        List<Stream<String>> streams = new ArrayList<>();
+        for (CompletableFuture<HttpResponse<Stream<String>>> future : pending) {
+            streams.add(future.join().body());
+        }
+        
+        long after = settledHeap(memory);
+        streams.forEach(Stream::close);
+        return new Result(connections, connections == 0 ? 0 : Math.max(0, after - before) / connections);
+    }
+    
+    // What the frontend does before it opens a stream: trade the session token for a short-lived stream token
+    private static String streamToken(HttpClient client, URI baseUri, Reader reader) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/users/stream-token"))
+            .header("Authorization", "Bearer " + reader.token())
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        return MAPPER.readTree(body).get("token").asString();
+    }
+    
+    private static long settledHeap(MemoryMXBean memory) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
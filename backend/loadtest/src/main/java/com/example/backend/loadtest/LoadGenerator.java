@@ -0,0 +1,86 @@
+package com.example.backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+import com.example.backend.support.ClubFixture.Club;
+
+// Open-model load: requests arrive on a Poisson schedule whether or not earlier ones have finished, so a slow
+// server builds a queue instead of quietly slowing the generator down. Latency is measured from the scheduled
+// arrival, which keeps coordinated omission out of the percentiles.
+class LoadGenerator {
+    private final URI baseUri;
+    private final Club club;
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+    private final HttpClient client;
+    private final Random random = new Random(42);
+    
+    LoadGenerator(URI baseUri, Club club, List<Scenario> scenarios) {
+        this.baseUri = baseUri;
+        this.club = club;
+        this.scenarios = scenarios;
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+    
+    Map<Scenario, EndpointStats> run(double ratePerSecond, Duration duration) {
+        Map<Scenario, EndpointStats> stats = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> stats.put(scenario, new EndpointStats()));
+        
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long next = start;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (next < end) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Scenario scenario = pick();
+                HttpRequest request = scenario.request(baseUri, club, random);
+                long intendedStart = next;
+                executor.execute(() -> send(request, intendedStart, stats.get(scenario)));
+                // Exponential gaps give Poisson arrivals at the target mean rate
+                next += (long) (-Math.log(1 - random.nextDouble()) / ratePerSecond * 1_000_000_000L);
+            }
+        }
+        return stats;
+    }
+    
+    private Scenario pick() {
+        int roll = random.nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            roll -= scenario.weight();
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("Scenario weights changed during the run");
+    }
+    
+    private void send(HttpRequest request, long intendedStart, EndpointStats stats) {
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            stats.record(System.nanoTime() - intendedStart, response.statusCode() >= 400, response.body().length);
+        } catch (IOException e) {
+            stats.record(System.nanoTime() - intendedStart, true, 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
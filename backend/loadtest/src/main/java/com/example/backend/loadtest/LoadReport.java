@@ -0,0 +1,78 @@
+package com.example.backend.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.example.backend.loadtest.StatementCounter.EndpointStatements;
+
+import tools.jackson.databind.json.JsonMapper;
+
+record LoadReport(double targetRatePerSecond, long durationSeconds, int readers, boolean virtualThreads,
+                  List<EndpointReport> endpoints, IdleStreamProbe.Result idleStreams) {
+    
+    record EndpointReport(String endpoint, long requests, double throughputPerSecond, double errorRate,
+                          double p50Millis, double p90Millis, double p99Millis, double maxMillis, long meanResponseBytes,
+                          double statementsPerRequest, long maxStatements) {
+    }
+    
+    static LoadReport from(LoadTest.Settings settings, Map<Scenario, EndpointStats> client,
+                           Map<String, EndpointStatements> server, IdleStreamProbe.Result idleStreams) {
+        double seconds = settings.duration().toMillis() / 1000.0;
+        List<EndpointReport> endpoints = new ArrayList<>();
+        client.forEach((scenario, stats) -> {
+            long[] latencies = stats.sortedLatencies();
+            long requests = stats.requests();
+            EndpointStatements statements = server.get(scenario.key());
+            endpoints.add(new EndpointReport(
+                scenario.key(),
+                requests,
+                requests / seconds,
+                requests == 0 ? 0 : (double) stats.errors() / requests,
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.90),
+                percentileMillis(latencies, 0.99),
+                percentileMillis(latencies, 1.0),
+                requests == 0 ? 0 : stats.bytes() / requests,
+                statements == null ? 0 : statements.mean(),
+                statements == null ? 0 : statements.max()));
+        });
+        return new LoadReport(settings.rate(), settings.duration().toSeconds(), settings.readers(),
+            settings.virtualThreads(), endpoints, idleStreams);
+    }
+    
+    private static double percentileMillis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+    
+    void print(PrintStream out) {
+        out.printf("%nTarget %.0f req/s for %s, %d readers, virtual threads %s%n%n",
+            targetRatePerSecond, Duration.ofSeconds(durationSeconds), readers, virtualThreads);
+        out.printf("%-45s %8s %8s %7s %8s %8s %8s %8s %7s %5s%n",
+            "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms", "stmts", "max");
+        for (EndpointReport endpoint : endpoints) {
+            out.printf("%-45s %8d %8.1f %6.2f%% %8.1f %8.1f %8.1f %8.1f %7.2f %5d%n",
+                endpoint.endpoint(), endpoint.requests(), endpoint.throughputPerSecond(), endpoint.errorRate() * 100,
+                endpoint.p50Millis(), endpoint.p90Millis(), endpoint.p99Millis(), endpoint.maxMillis(),
+                endpoint.statementsPerRequest(), endpoint.maxStatements());
+        }
+        if (idleStreams != null && idleStreams.connections() > 0) {
+            out.printf("%n%d idle comment streams: ~%d KiB heap per connection%n",
+                idleStreams.connections(), idleStreams.heapBytesPerConnection() / 1024);
+        }
+    }
+    
+    void write(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.write(path, JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValueAsBytes(this));
+    }
+}
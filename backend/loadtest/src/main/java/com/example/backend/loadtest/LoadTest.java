@@ -0,0 +1,64 @@
+package com.example.backend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.backend.support.ClubFixture;
+import com.example.backend.support.ClubFixture.Club;
+import com.example.backend.support.EmbeddedBackend;
+
+// Drives the real backend over HTTP with the React app's call mix and reports per-endpoint latency, throughput,
+// errors and SQL statements per request.
+//
+//   mvn package exec:exec -Dloadtest.args="rate=200 duration=PT2M readers=500 idle-streams=1000"
+public class LoadTest {
+    
+    record Settings(double rate, Duration duration, Duration warmup, int readers, int idleStreams,
+                    boolean virtualThreads, Path report) {
+        
+        static Settings parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Expected key=value but got: " + arg);
+                }
+                values.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+            return new Settings(
+                Double.parseDouble(values.getOrDefault("rate", "100")),
+                Duration.parse(values.getOrDefault("duration", "PT60S")),
+                Duration.parse(values.getOrDefault("warmup", "PT15S")),
+                Integer.parseInt(values.getOrDefault("readers", "200")),
+                Integer.parseInt(values.getOrDefault("idle-streams", "0")),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")),
+                Path.of(values.getOrDefault("report", "target/loadtest-report.json")));
+        }
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.parse(args);
+        try (EmbeddedBackend backend = LoadTestConfiguration.start(settings.virtualThreads())) {
+            Club club = ClubFixture.seed(backend.context(), ClubFixture.Shape.club(settings.readers()));
+            List<Scenario> scenarios = Scenario.frontendMix();
+            LoadGenerator generator = new LoadGenerator(backend.baseUri(), club, scenarios);
+            
+            // Warm the JIT, connection pool and caches, then measure from a clean slate
+            generator.run(settings.rate(), settings.warmup());
+            StatementCounter.reset();
+            Map<Scenario, EndpointStats> client = generator.run(settings.rate(), settings.duration());
+            
+            IdleStreamProbe.Result idleStreams = settings.idleStreams() > 0
+                ? IdleStreamProbe.measure(backend.baseUri(), club, settings.idleStreams())
+                : null;
+            
+            LoadReport report = LoadReport.from(settings, client, StatementCounter.snapshot(), idleStreams);
+            report.print(System.out);
+            report.write(settings.report());
+            System.out.println("\nReport written to " + settings.report().toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.loadtest;
+
+import java.util.List;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.example.backend.support.EmbeddedBackend;
+
+@Configuration
+class LoadTestConfiguration {
+    
+    // The embedded backend with per-route statement counting wired in
+    static EmbeddedBackend start(boolean virtualThreads) {
+        return EmbeddedBackend.start(List.of(LoadTestConfiguration.class),
+            "spring.threads.virtual.enabled=" + virtualThreads,
+            // Every simulated reader shares 127.0.0.1, so the per-address login limit would throttle the harness
+            "bookclub.auth.rate-limit.capacity=1000000");
+    }
+    
+    @Bean
+    FilterRegistrationBean<StatementCountingFilter> statementCountingFilter() {
+        FilterRegistrationBean<StatementCountingFilter> registration = new FilterRegistrationBean<>(new StatementCountingFilter());
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.example.backend.support.ClubFixture.Club;
+import com.example.backend.support.ClubFixture.Reader;
+
+// One kind of call the React app makes, weighted by how often a reader's session issues it
+record Scenario(String method, String route, int weight, Arguments arguments) {
+    private static final Pattern VARIABLE = Pattern.compile("\\{[^}]+}");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    
+    // Fills the route's path variables (in order) and, for writes, the JSON body
+    interface Arguments {
+        Request resolve(Club club, Reader reader, Random random);
+    }
+    
+    record Request(Object[] pathValues, String body) {
+    }
+    
+    // Matches Spring's best-matching pattern so server-side statement counts line up with client-side stats
+    String key() {
+        return method + " " + route;
+    }
+    
+    HttpRequest request(URI baseUri, Club club, Random random) {
+        Reader reader = club.readers().get(random.nextInt(club.readers().size()));
+        Request resolved = arguments.resolve(club, reader, random);
+        
+        Matcher matcher = VARIABLE.matcher(route);
+        StringBuilder path = new StringBuilder();
+        int index = 0;
+        while (matcher.find()) {
+            matcher.appendReplacement(path, String.valueOf(resolved.pathValues()[index++]));
+        }
+        matcher.appendTail(path);
+        
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path.toString()))
+            .timeout(TIMEOUT)
+            .header("Authorization", "Bearer " + reader.token());
+        if (resolved.body() == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofString(resolved.body()))
+            .build();
+    }
+    
+    // Per visit the app loads the outline once, opens a few chapters and reads their comments, and occasionally
+    // posts, answers this week's question or moves the progress marker. The older per-week calls are kept so
+    // their cost stays visible.
+    static List<Scenario> frontendMix() {
+        return List.of(
+            new Scenario("GET", "/api/books/current/outline", 10,
+                (club, reader, random) -> new Request(new Object[0], null)),
+            new Scenario("GET", "/api/books/current", 4,
+                (club, reader, random) -> new Request(new Object[0], null)),
+            new Scenario("GET", "/api/books/{bookId}/weeks", 2,
+                (club, reader, random) -> new Request(new Object[] { club.bookId() }, null)),
+            new Scenario("GET", "/api/chapters/week/{weekId}", 6,
+                (club, reader, random) -> new Request(new Object[] { pick(club.weekIds(), random) }, null)),
+            new Scenario("GET", "/api/comments/chapter/{chapterId}/page", 30,
+                (club, reader, random) -> new Request(new Object[] { pick(club.chapterIds(), random) }, null)),
+            new Scenario("POST", "/api/comments", 6,
+                (club, reader, random) -> new Request(new Object[0], """
+                    {"content":"Load test comment %d","chapter":{"id":%d},"user":{"id":%d}}"""
+                    .formatted(random.nextInt(), pick(club.chapterIds(), random), reader.id()))),
+            new Scenario("GET", "/api/questions/week/{weekId}", 8,
+                (club, reader, random) -> new Request(new Object[] { pick(club.weekIds(), random) }, null)),
+            new Scenario("GET", "/api/answers/question/{questionId}", 10,
+                (club, reader, random) -> new Request(new Object[] { pick(club.questionIds(), random) }, null)),
+            new Scenario("POST", "/api/answers", 3,
+                (club, reader, random) -> new Request(new Object[0], """
+                    {"answer":"Load test answer %d","question":{"id":%d},"user":{"id":%d}}"""
+                    .formatted(random.nextInt(), pick(club.questionIds(), random), reader.id()))),
+            new Scenario("PUT", "/api/users/{id}/progress", 5,
+                (club, reader, random) -> new Request(new Object[] { reader.id() },
+                    "{\"currentChapter\":" + (1 + random.nextInt(club.chapterIds().size())) + "}")),
+            new Scenario("GET", "/api/books/current/progress", 6,
+                (club, reader, random) -> new Request(new Object[0], null)));
+    }
+    
+    private static Long pick(List<Long> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.backend.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-endpoint totals of the statements the backend's RequestStatistics counted, recorded by StatementCountingFilter
+final class StatementCounter {
+    private static final Map<String, EndpointStatements> ENDPOINTS = new ConcurrentHashMap<>();
+    
+    private StatementCounter() {
+    }
+    
+    static void record(String endpoint, int statements) {
+        ENDPOINTS.computeIfAbsent(endpoint, key -> new EndpointStatements()).record(statements);
+    }
+    
+    static void reset() {
+        ENDPOINTS.clear();
+    }
+    
+    static Map<String, EndpointStatements> snapshot() {
+        return new TreeMap<>(ENDPOINTS);
+    }
+    
+    static class EndpointStatements {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+        
+        void record(int count) {
+            requests.increment();
+            statements.add(count);
+            max.accumulate(count);
+        }
+        
+        long requests() {
+            return requests.sum();
+        }
+        
+        double mean() {
+            long total = requests.sum();
+            return total == 0 ? 0 : (double) statements.sum() / total;
+        }
+        
+        long max() {
+            return max.get();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.backend.loadtest;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.example.backend.config.RequestStatistics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Attributes the statements counted during a request to its route, e.g. "GET /api/comments/chapter/{chapterId}/page".
+// Runs inside the backend's RequestStatisticsFilter so the request's counts are still in scope afterwards.
+class StatementCountingFilter extends OncePerRequestFilter {
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            RequestStatistics.Counts counts = RequestStatistics.current();
+            if (pattern != null && counts != null) {
+                StatementCounter.record(request.getMethod() + " " + pattern, counts.statements());
+            }
+        }
+    }
+}
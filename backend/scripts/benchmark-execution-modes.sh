@@ -0,0 +1,110 @@
+#!/bin/bash
+# Compares platform-thread and virtual-thread request execution on the comment
+# and progress endpoints. Needs a running PostgreSQL (docker compose up postgres)
+# and the `hey` load generator (https://github.com/rakyll/hey) on the PATH.
+#
+# Usage: scripts/benchmark-execution-modes.sh [requests] [concurrency]
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+# A local run: the dev profile lets the backend start without bookclub.auth.token-secret
+export SPRING_PROFILES_ACTIVE=${SPRING_PROFILES_ACTIVE:-dev}
+
+REQUESTS=${1:-20000}
+CONCURRENCY=${2:-400}
+PORT=${BENCH_PORT:-18080}
+BASE_URL="http://localhost:${PORT}/api"
+OUT_DIR=target/bench/execution-modes
+JAR=$(ls target/backend-*-exec.jar 2>/dev/null | head -n 1 || true)
+
+if [ -z "$JAR" ]; then
+    mvn -q clean package -DskipTests
+    JAR=$(ls target/backend-*-exec.jar | head -n 1)
+fi
+
+mkdir -p "$OUT_DIR"
+
+json_field() {
+    sed -n "s/.*\"$1\":\([0-9]*\).*/\1/p"
+}
+
+json_string() {
+    sed -n "s/.*\"$1\":\"\([^\"]*\)\".*/\1/p"
+}
+
+seed() {
+    local suffix=$RANDOM$RANDOM
+    local registration
+    registration=$(curl -sf -X POST "$BASE_URL/users/register" -H 'Content-Type: application/json' \
+        -d "{\"username\":\"bench-$suffix\",\"password\":\"bench-password\",\"email\":\"bench-$suffix@example.com\"}")
+    USER_ID=$(echo "$registration" | json_field id)
+    AUTH="Authorization: Bearer $(echo "$registration" | json_string token)"
+    BOOK_ID=$(curl -sf -X POST "$BASE_URL/books" -H "$AUTH" -H 'Content-Type: application/json' \
+        -d '{"title":"Benchmark Book","author":"Bench","totalChapters":1}' | json_field id)
+    WEEK_ID=$(curl -sf -X POST "$BASE_URL/weeks" -H "$AUTH" -H 'Content-Type: application/json' \
+        -d "{\"weekNumber\":1,\"title\":\"Week 1\",\"book\":{\"id\":$BOOK_ID}}" | json_field id)
+    CHAPTER_ID=$(curl -sf -X POST "$BASE_URL/chapters" -H "$AUTH" -H 'Content-Type: application/json' \
+        -d "{\"chapterNumber\":1,\"title\":\"Chapter 1\",\"week\":{\"id\":$WEEK_ID}}" | json_field id)
+    for i in $(seq 1 200); do
+        curl -sf -o /dev/null -X POST "$BASE_URL/comments" -H "$AUTH" -H 'Content-Type: application/json' \
+            -d "{\"content\":\"seed comment $i\",\"chapter\":{\"id\":$CHAPTER_ID},\"user\":{\"id\":$USER_ID}}"
+    done
+}
+
+summarize() {
+    local file=$1
+    local rps p50 p99
+    rps=$(awk '/Requests\/sec/ {print $2}' "$file")
+    p50=$(awk '/ 50%/ {print $3}' "$file")
+    p99=$(awk '/ 99%/ {print $3}' "$file")
+    printf "%-10s %-18s %10s req/s  p50 %8ss  p99 %8ss\n" "$2" "$3" "$rps" "$p50" "$p99"
+}
+
+run_mode() {
+    local mode=$1 virtual=$2
+    echo "Starting backend in $mode mode..."
+    BOOKCLUB_VIRTUAL_THREADS=$virtual java -Djdk.tracePinnedThreads=short -jar "$JAR" \
+        --server.port="$PORT" --spring.jpa.show-sql=false > "$OUT_DIR/$mode-server.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+
+    # Any HTTP status means the server is accepting requests
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/books/current/outline")" != "000" ]; do
+        sleep 1
+    done
+
+    seed
+
+    # Warm up the JIT and the connection pool before measuring
+    hey -n 2000 -c 50 -H "$AUTH" "$BASE_URL/comments/chapter/$CHAPTER_ID/page" > /dev/null
+
+    hey -n "$REQUESTS" -c "$CONCURRENCY" -H "$AUTH" \
+        "$BASE_URL/comments/chapter/$CHAPTER_ID/page" > "$OUT_DIR/$mode-comments-read.txt"
+    hey -n "$REQUESTS" -c "$CONCURRENCY" -H "$AUTH" -m POST -T 'application/json' \
+        -d "{\"content\":\"bench\",\"chapter\":{\"id\":$CHAPTER_ID},\"user\":{\"id\":$USER_ID}}" \
+        "$BASE_URL/comments" > "$OUT_DIR/$mode-comments-write.txt"
+    hey -n "$REQUESTS" -c "$CONCURRENCY" -H "$AUTH" -m PUT -T 'application/json' \
+        -d '{"currentChapter":1}' \
+        "$BASE_URL/users/$USER_ID/progress" > "$OUT_DIR/$mode-progress.txt"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+
+    if grep -q "VirtualThread.*pinned\|reason:MONITOR" "$OUT_DIR/$mode-server.log"; then
+        echo "Pinned virtual threads reported, see $OUT_DIR/$mode-server.log"
+    fi
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo
+echo "Results (${REQUESTS} requests, concurrency ${CONCURRENCY}):"
+for mode in platform virtual; do
+    summarize "$OUT_DIR/$mode-comments-read.txt" "$mode" "comments read"
+    summarize "$OUT_DIR/$mode-comments-write.txt" "$mode" "comments write"
+    summarize "$OUT_DIR/$mode-progress.txt" "$mode" "progress update"
+done
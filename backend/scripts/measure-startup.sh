@@ -0,0 +1,118 @@
+#!/bin/bash
+# Measures cold start of each packaging: the plain jar, the AOT jar with a CDS archive
+# (-Pcds) and the GraalVM native executable (-Pnative, skipped when native-image is not
+# on the PATH). Reports the time until the readiness probe answers UP and the resident
+# set size at that moment, as the median over several starts. Needs a running PostgreSQL
+# (docker compose up postgres).
+#
+# Usage: scripts/measure-startup.sh [runs]
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+# A local run: the dev profile lets the backend start without bookclub.auth.token-secret
+export SPRING_PROFILES_ACTIVE=${SPRING_PROFILES_ACTIVE:-dev}
+
+RUNS=${1:-5}
+PORT=${BENCH_PORT:-18080}
+READY_URL="http://localhost:${PORT}/readyz"
+OUT_DIR=target/bench/startup
+STAGE=$(mktemp -d)
+trap 'rm -rf "$STAGE"' EXIT
+
+VARIANTS="jvm cds"
+if command -v native-image > /dev/null; then
+    VARIANTS="$VARIANTS native"
+else
+    echo "native-image not found, skipping the native variant"
+fi
+
+# Each variant builds from a clean tree, so AOT output never leaks into the plain jar
+build() {
+    echo "Building the $1 variant..."
+    case $1 in
+        jvm)
+            mvn -q clean package -DskipTests
+            cp target/backend-*-exec.jar "$STAGE/backend.jar"
+            ;;
+        cds)
+            mvn -q clean package -DskipTests -Pcds
+            cp -r target/cds "$STAGE/cds"
+            ;;
+        native)
+            mvn -q clean package -DskipTests -Pnative
+            cp target/backend "$STAGE/backend"
+            ;;
+    esac
+}
+
+# exec, so the background job's pid is the server's own and its RSS is what gets read
+launch() {
+    case $1 in
+        jvm) exec java -jar "$STAGE/backend.jar" --server.port="$PORT" ;;
+        cds) exec java -XX:SharedArchiveFile="$STAGE/cds/application.jsa" -Dspring.aot.enabled=true \
+                 -jar "$STAGE"/cds/backend-*.jar --server.port="$PORT" ;;
+        native) exec "$STAGE/backend" --server.port="$PORT" ;;
+    esac
+}
+
+rss_kb() {
+    if [ -r "/proc/$1/status" ]; then
+        awk '/VmRSS/ {print $2}' "/proc/$1/status"
+    else
+        ps -o rss= -p "$1" | tr -d ' '
+    fi
+}
+
+median() {
+    sort -n | awk '{v[NR] = $1} END {print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2}'
+}
+
+measure() {
+    local variant=$1 run=$2
+    local log="$STAGE/$variant-$run.log"
+    local start ready pid
+    start=$(date +%s%N)
+    launch "$variant" > "$log" 2>&1 &
+    pid=$!
+
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$READY_URL")" = "200" ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "The $variant variant exited during startup, see $OUT_DIR/$variant-$run.log" >&2
+            mkdir -p "$OUT_DIR"
+            cp "$log" "$OUT_DIR/"
+            exit 1
+        fi
+        sleep 0.05
+    done
+    ready=$(( ($(date +%s%N) - start) / 1000000 ))
+    echo "$variant,$run,$ready,$(rss_kb "$pid")" >> "$STAGE/results.csv"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+for variant in $VARIANTS; do
+    build "$variant"
+done
+
+echo "variant,run,ready_ms,rss_kb" > "$STAGE/results.csv"
+for variant in $VARIANTS; do
+    echo "Starting the $variant variant $RUNS times..."
+    for run in $(seq 1 "$RUNS"); do
+        measure "$variant" "$run"
+    done
+done
+
+# The builds cleaned target, so results are only copied in once they are done
+mkdir -p "$OUT_DIR"
+cp "$STAGE"/*.log "$STAGE/results.csv" "$OUT_DIR/"
+
+echo
+echo "Median over $RUNS starts (raw runs in $OUT_DIR/results.csv):"
+for variant in $VARIANTS; do
+    ready=$(awk -F, -v v="$variant" '$1 == v {print $3}' "$OUT_DIR/results.csv" | median)
+    rss=$(awk -F, -v v="$variant" '$1 == v {print $4}' "$OUT_DIR/results.csv" | median)
+    printf "%-8s ready %8s ms  rss %8s MB\n" "$variant" "$ready" "$(( ${rss%.*} / 1024 ))"
+done
@@ -2,8 +2,20 @@ package com.example.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.example.backend.config.NativeRuntimeHints;
 
 @SpringBootApplication
+@EnableJpaAuditing
+@EnableCaching
+@EnableAsync
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class BackendApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,49 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.backend.service.AccessTokenService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class AccessTokenFilter extends OncePerRequestFilter {
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    private final AccessTokenService accessTokenService;
+    
+    public AccessTokenFilter(AccessTokenService accessTokenService) {
+        this.accessTokenService = accessTokenService;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        authenticate(request).ifPresent(claims -> SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(claims, null, List.of())));
+        chain.doFilter(request, response);
+    }
+    
+    private Optional<AccessTokenService.Claims> authenticate(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return accessTokenService.verify(header.substring(BEARER_PREFIX.length()));
+        }
+        // EventSource cannot set headers, so event streams take a token in the query string, but only a stream
+        // token from POST /api/users/stream-token: URLs end up in logs and history, so session tokens never go there
+        String streamToken = request.getRequestURI().endsWith("/stream") ? request.getParameter("access_token") : null;
+        if (streamToken != null) {
+            return accessTokenService.verifyStreamToken(streamToken);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.backend.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Factory-wide totals come from Hibernate's own statistics (hibernate.generate_statistics);
+// this adds the per-request statement count behind RequestStatistics
+@Configuration
+public class HibernateStatisticsConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer requestStatementCounter() {
+        StatementInspector inspector = sql -> {
+            RequestStatistics.statementPrepared();
+            return sql;
+        };
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+}
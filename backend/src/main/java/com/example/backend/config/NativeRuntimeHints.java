@@ -0,0 +1,49 @@
+package com.example.backend.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.example.backend.dto.AnswerExport;
+import com.example.backend.dto.ArchiveHeader;
+import com.example.backend.dto.BookDetail;
+import com.example.backend.dto.ChapterDetail;
+import com.example.backend.dto.CommentDetail;
+import com.example.backend.dto.CommentExport;
+import com.example.backend.dto.QuestionDetail;
+import com.example.backend.dto.WeekDetail;
+import com.example.backend.model.Book;
+import com.example.backend.model.Chapter;
+import com.example.backend.model.Comment;
+import com.example.backend.model.QuestionAnswer;
+import com.example.backend.model.User;
+import com.example.backend.model.Week;
+import com.example.backend.model.WeeklyQuestion;
+
+// What AOT processing cannot infer from handler signatures for the native image. That covers JSON written straight
+// through the JsonMapper (cached responses, archive rows) or pushed to SSE emitters, and the entities with their
+// Lombok accessors and Jackson back-references. It also covers the classes and files the JCache provider loads by name.
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+    private final BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+    
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindings.registerReflectionHints(hints.reflection(),
+            BookDetail.class, WeekDetail.class, ChapterDetail.class, CommentDetail.class, QuestionDetail.class,
+            ArchiveHeader.class, CommentExport.class, AnswerExport.class);
+        bindings.registerReflectionHints(hints.reflection(),
+            Book.class, Week.class, Chapter.class, Comment.class, WeeklyQuestion.class, QuestionAnswer.class, User.class);
+        
+        hints.reflection()
+            .registerType(TypeReference.of("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+            .registerType(TypeReference.of("org.hibernate.cache.jcache.internal.JCacheRegionFactory"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        // Caffeine reads its region settings through Typesafe Config
+        hints.resources()
+            .registerPattern("application.conf")
+            .registerPattern("reference.conf");
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.backend.config;
+
+// Per-request Hibernate work, counted on the request thread between RequestStatisticsFilter's begin and end.
+// Work done outside a request (scheduled jobs, startup) is not counted.
+public final class RequestStatistics {
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+    
+    private RequestStatistics() {
+    }
+    
+    public static class Counts {
+        private int statements;
+        private int entityLoads;
+        private int collectionFetches;
+        
+        public int statements() {
+            return statements;
+        }
+        
+        public int entityLoads() {
+            return entityLoads;
+        }
+        
+        public int collectionFetches() {
+            return collectionFetches;
+        }
+    }
+    
+    // The counts of the request running on this thread, or null outside a request
+    public static Counts current() {
+        return CURRENT.get();
+    }
+    
+    static Counts begin() {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+    
+    static void end() {
+        CURRENT.remove();
+    }
+    
+    static void statementPrepared() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+    
+    static void entityLoaded() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+    }
+    
+    static void collectionFetched() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.collectionFetches++;
+        }
+    }
+}
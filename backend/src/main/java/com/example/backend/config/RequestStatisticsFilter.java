@@ -0,0 +1,51 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Publishes statements, entity loads and collection fetches per request, tagged like http.server.requests
+// so they can be lined up with the endpoint's latency
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatistics.Counts counts = RequestStatistics.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestStatistics.end();
+            // Unmatched requests (404s, actuator) have no route and would only add noise
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                record("bookclub.request.statements", request.getMethod(), pattern.toString(), counts.statements());
+                record("bookclub.request.entity.loads", request.getMethod(), pattern.toString(), counts.entityLoads());
+                record("bookclub.request.collection.fetches", request.getMethod(), pattern.toString(), counts.collectionFetches());
+            }
+        }
+    }
+    
+    private void record(String name, String method, String uri, int value) {
+        DistributionSummary.builder(name)
+            .tags("method", method, "uri", uri)
+            .register(meterRegistry)
+            .record(value);
+    }
+}
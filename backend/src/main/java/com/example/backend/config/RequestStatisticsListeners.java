@@ -0,0 +1,40 @@
+package com.example.backend.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+// Counts every entity materialized and every lazy collection initialized into RequestStatistics
+@Component
+public class RequestStatisticsListeners implements PostLoadEventListener, InitializeCollectionEventListener {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD, this);
+        registry.appendListeners(EventType.INIT_COLLECTION, this);
+    }
+    
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestStatistics.entityLoaded();
+    }
+    
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestStatistics.collectionFetched();
+    }
+}
@@ -1,24 +1,51 @@
 package com.example.backend.config;
 
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import com.example.backend.service.AccessTokenService;
+
+import jakarta.servlet.DispatcherType;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AccessTokenService accessTokenService) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new AccessTokenFilter(accessTokenService), UsernamePasswordAuthenticationFilter.class)
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+            )
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/**").permitAll()
+                // Async (SSE) and error dispatches were already authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                .requestMatchers("/api/users/login", "/api/users/register").permitAll()
+                // The platform's health checks carry no user token
+                .requestMatchers("/livez", "/readyz").permitAll()
+                // Only served on the management port, which Prometheus scrapes from inside the private network
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
                 .anyRequest().authenticated()
             );
         
@@ -26,7 +53,25 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${bookclub.auth.bcrypt.target-latency:PT0.25S}") Duration targetLatency,
+            @Value("${bookclub.auth.bcrypt.min-strength:10}") int minStrength,
+            @Value("${bookclub.auth.bcrypt.max-strength:14}") int maxStrength) {
+        int strength = calibrateStrength(targetLatency, minStrength, maxStrength);
+        log.info("Using BCrypt strength {} for a target hash latency of {} ms", strength, targetLatency.toMillis());
+        return new BCryptPasswordEncoder(strength);
+    }
+    
+    // Each extra strength step doubles the work, so one timed hash at the minimum is enough to extrapolate
+    private int calibrateStrength(Duration targetLatency, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration-warmup");
+        
+        long start = System.nanoTime();
+        probe.encode("calibration-probe");
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        
+        int extraSteps = (int) Math.floor(Math.log((double) targetLatency.toNanos() / elapsed) / Math.log(2));
+        return Math.max(minStrength, Math.min(maxStrength, minStrength + extraSteps));
     }
 }
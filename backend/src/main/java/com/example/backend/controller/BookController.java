@@ -1,8 +1,9 @@
 package com.example.backend.controller;
 
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,12 +11,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.example.backend.model.Book;
-import com.example.backend.model.Week;
+import com.example.backend.dto.BookDetail;
+import com.example.backend.dto.BookImport;
+import com.example.backend.dto.BookOutline;
+import com.example.backend.dto.BookRequest;
+import com.example.backend.dto.ProgressSummary;
+import com.example.backend.event.ContentTags;
+import com.example.backend.service.ArchiveExportService;
 import com.example.backend.service.BookService;
+import com.example.backend.service.UserService;
 
 @RestController
 @RequestMapping("/api/books")
@@ -24,21 +34,68 @@ public class BookController {
     @Autowired
     private BookService bookService;
     
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ArchiveExportService archiveExportService;
+    
+    @Autowired
+    private ResponseCache responseCache;
+    
     @GetMapping("/current")
-    public ResponseEntity<Book> getCurrentBook() {
-        return ResponseEntity.ok(bookService.getCurrentBook());
+    public ResponseEntity<byte[]> getCurrentBook(WebRequest request) {
+        return responseCache.respond(request, "books/current", bookService::getCurrentBookStamp,
+            bookService::getCurrentBook,
+            book -> ContentTags.ofWeeks(book.weeks(), ContentTags.book(book.id()), ContentTags.CURRENT_BOOK));
+    }
+    
+    @GetMapping("/current/outline")
+    public ResponseEntity<BookOutline> getCurrentBookOutline(WebRequest request) {
+        return ConditionalGet.respond(request, bookService.getCurrentBookOutlineStamp(),
+            () -> bookService.getCurrentBookOutline());
+    }
+    
+    @GetMapping("/current/progress")
+    public ResponseEntity<ProgressSummary> getReaderProgress() {
+        return ResponseEntity.ok(userService.getReaderProgress());
     }
     
     @GetMapping("/{bookId}/weeks")
-    public ResponseEntity<List<Week>> getWeeks(@PathVariable Long bookId) {
-        return ResponseEntity.ok(bookService.getWeeksForBook(bookId));
+    public ResponseEntity<byte[]> getWeeks(@PathVariable Long bookId, WebRequest request) {
+        return responseCache.respond(request, "books/" + bookId + "/weeks",
+            () -> bookService.getWeeksForBookStamp(bookId), () -> bookService.getWeeksForBook(bookId),
+            weeks -> ContentTags.ofWeeks(weeks, ContentTags.book(bookId)));
+    }
+    
+    // NDJSON download of every comment and answer; gzip-encoded when the client accepts it
+    @GetMapping(value = "/{bookId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBook(@PathVariable Long bookId,
+                                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = archiveExportService.exportArchive(bookId, gzip);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("book-" + bookId + "-archive.ndjson").build().toString())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
     
     @PostMapping
-    public ResponseEntity<Book> createBook(@RequestBody Book book) {
+    public ResponseEntity<BookDetail> createBook(@RequestBody BookRequest book) {
         return ResponseEntity.ok(bookService.createBook(book));
     }
     
+    @PostMapping("/import")
+    public ResponseEntity<BookOutline> importBook(@RequestBody BookImport bookImport) {
+        return ResponseEntity.ok(bookService.importBook(bookImport));
+    }
+    
     @PutMapping("/{bookId}/activate")
     public ResponseEntity<Void> setActiveBook(@PathVariable Long bookId) {
         bookService.setActiveBook(bookId);
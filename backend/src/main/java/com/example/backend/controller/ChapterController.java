@@ -13,8 +13,10 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.example.backend.model.Chapter;
+import com.example.backend.dto.ChapterDetail;
+import com.example.backend.dto.ChapterRequest;
 import com.example.backend.service.ChapterService;
 
 @RestController
@@ -25,22 +27,24 @@ public class ChapterController {
     private ChapterService chapterService;
     
     @PostMapping
-    public ResponseEntity<Chapter> createChapter(@RequestBody Chapter chapter) {
+    public ResponseEntity<ChapterDetail> createChapter(@RequestBody ChapterRequest chapter) {
         return ResponseEntity.ok(chapterService.createChapter(chapter));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Chapter> getChapter(@PathVariable Long id) {
-        return ResponseEntity.ok(chapterService.getChapterById(id));
+    public ResponseEntity<ChapterDetail> getChapter(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.respond(request, chapterService.getChapterStamp(id),
+            () -> chapterService.getChapterById(id));
     }
     
     @GetMapping("/week/{weekId}")
-    public ResponseEntity<List<Chapter>> getChaptersByWeek(@PathVariable Long weekId) {
-        return ResponseEntity.ok(chapterService.getChaptersByWeek(weekId));
+    public ResponseEntity<List<ChapterDetail>> getChaptersByWeek(@PathVariable Long weekId, WebRequest request) {
+        return ConditionalGet.respond(request, chapterService.getChaptersByWeekStamp(weekId),
+            () -> chapterService.getChaptersByWeek(weekId));
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Chapter> updateChapter(@PathVariable Long id, @RequestBody Chapter chapter) {
+    public ResponseEntity<ChapterDetail> updateChapter(@PathVariable Long id, @RequestBody ChapterRequest chapter) {
         return ResponseEntity.ok(chapterService.updateChapter(id, chapter));
     }
     
@@ -3,6 +3,7 @@ package com.example.backend.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,9 +13,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.example.backend.model.Comment;
+import com.example.backend.dto.CommentDetail;
+import com.example.backend.dto.CommentPage;
+import com.example.backend.dto.CommentRequest;
+import com.example.backend.service.CommentBroadcaster;
 import com.example.backend.service.CommentService;
 
 @RestController
@@ -24,23 +31,42 @@ public class CommentController {
     @Autowired
     private CommentService commentService;
     
+    @Autowired
+    private CommentBroadcaster commentBroadcaster;
+    
     @PostMapping
-    public ResponseEntity<Comment> createComment(@RequestBody Comment comment) {
+    public ResponseEntity<CommentDetail> createComment(@RequestBody CommentRequest comment) {
         return ResponseEntity.ok(commentService.createComment(comment));
     }
     
     @GetMapping("/chapter/{chapterId}")
-    public ResponseEntity<List<Comment>> getCommentsByChapter(@PathVariable Long chapterId) {
-        return ResponseEntity.ok(commentService.getCommentsByChapter(chapterId));
+    public ResponseEntity<List<CommentDetail>> getCommentsByChapter(@PathVariable Long chapterId, WebRequest request) {
+        return ConditionalGet.respond(request, commentService.getCommentsByChapterStamp(chapterId),
+            () -> commentService.getCommentsByChapter(chapterId));
+    }
+    
+    @GetMapping("/chapter/{chapterId}/page")
+    public ResponseEntity<CommentPage> getCommentPage(@PathVariable Long chapterId,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "20") int limit,
+                                                      WebRequest request) {
+        return ConditionalGet.respond(request, commentService.getCommentsByChapterStamp(chapterId),
+            () -> commentService.getCommentPage(chapterId, cursor, limit));
+    }
+    
+    @GetMapping(value = "/chapter/{chapterId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamComments(@PathVariable Long chapterId) {
+        return commentBroadcaster.subscribe(chapterId);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Comment> getComment(@PathVariable Long id) {
-        return ResponseEntity.ok(commentService.getCommentById(id));
+    public ResponseEntity<CommentDetail> getComment(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.respond(request, commentService.getCommentStamp(id),
+            () -> commentService.getCommentById(id));
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Comment> updateComment(@PathVariable Long id, @RequestBody String content) {
+    public ResponseEntity<CommentDetail> updateComment(@PathVariable Long id, @RequestBody String content) {
         return ResponseEntity.ok(commentService.updateComment(id, content));
     }
     
@@ -0,0 +1,29 @@
+package com.example.backend.controller;
+
+import java.sql.SQLException;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// Create paths attach parents by id and leave existence and uniqueness to the database constraints;
+// this maps the violations to the statuses a lookup-first check would have produced
+@RestControllerAdvice
+public class DataIntegrityAdvice {
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+    private static final String UNIQUE_VIOLATION = "23505";
+    
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ProblemDetail handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        String sqlState = e.getMostSpecificCause() instanceof SQLException sql ? sql.getSQLState() : null;
+        if (FOREIGN_KEY_VIOLATION.equals(sqlState)) {
+            return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, "Referenced record not found");
+        }
+        if (UNIQUE_VIOLATION.equals(sqlState)) {
+            return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "Record already exists");
+        }
+        throw e;
+    }
+}
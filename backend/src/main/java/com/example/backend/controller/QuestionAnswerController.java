@@ -14,7 +14,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.example.backend.model.QuestionAnswer;
+import com.example.backend.dto.AnswerDetail;
+import com.example.backend.dto.AnswerRequest;
 import com.example.backend.service.QuestionAnswerService;
 
 @RestController
@@ -25,22 +26,22 @@ public class QuestionAnswerController {
     private QuestionAnswerService questionAnswerService;
     
     @PostMapping
-    public ResponseEntity<QuestionAnswer> createAnswer(@RequestBody QuestionAnswer answer) {
+    public ResponseEntity<AnswerDetail> createAnswer(@RequestBody AnswerRequest answer) {
         return ResponseEntity.ok(questionAnswerService.createAnswer(answer));
     }
     
     @GetMapping("/question/{questionId}")
-    public ResponseEntity<List<QuestionAnswer>> getAnswersByQuestion(@PathVariable Long questionId) {
+    public ResponseEntity<List<AnswerDetail>> getAnswersByQuestion(@PathVariable Long questionId) {
         return ResponseEntity.ok(questionAnswerService.getAnswersByQuestion(questionId));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<QuestionAnswer> getAnswer(@PathVariable Long id) {
+    public ResponseEntity<AnswerDetail> getAnswer(@PathVariable Long id) {
         return ResponseEntity.ok(questionAnswerService.getAnswerById(id));
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<QuestionAnswer> updateAnswer(@PathVariable Long id, @RequestBody String answerText) {
+    public ResponseEntity<AnswerDetail> updateAnswer(@PathVariable Long id, @RequestBody String answerText) {
         return ResponseEntity.ok(questionAnswerService.updateAnswer(id, answerText));
     }
     
@@ -0,0 +1,130 @@
+package com.example.backend.controller;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.WebRequest;
+
+import com.example.backend.event.ContentChangedEvent;
+import com.example.backend.event.ContentTags;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import tools.jackson.databind.json.JsonMapper;
+
+// Serialized JSON and ETag of the hottest reads, so a hit costs neither queries nor serialization.
+// Entries are tagged with the rows they contain and go stale when a committed write invalidates any of those tags.
+@Component
+public class ResponseCache {
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${bookclub.response-cache.max-size:32MB}")
+    private DataSize maxSize;
+    
+    @Value("${bookclub.response-cache.ttl:PT10M}")
+    private Duration ttl;
+    
+    // Invalidations are numbered; a tag remembers the number of its latest one for as long as an entry written
+    // before it can still be alive, which is the TTL, and is forgotten after that
+    private final AtomicLong invalidations = new AtomicLong();
+    private Cache<String, Long> invalidatedAt;
+    
+    private Cache<String, CachedResponse> cache;
+    private Counter hits;
+    private Counter misses;
+    private Counter stale;
+    
+    private record CachedResponse(String etag, byte[] body, Set<String> tags, long filledAt) {
+    }
+    
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+            .maximumWeight(maxSize.toBytes())
+            .weigher((String key, CachedResponse response) -> response.body().length)
+            .expireAfterWrite(ttl)
+            .build();
+        invalidatedAt = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .build();
+        hits = meterRegistry.counter("bookclub.response.cache", "result", "hit");
+        misses = meterRegistry.counter("bookclub.response.cache", "result", "miss");
+        stale = meterRegistry.counter("bookclub.response.cache", "result", "stale");
+        meterRegistry.gauge("bookclub.response.cache.entries", cache, Cache::estimatedSize);
+        meterRegistry.gauge("bookclub.response.cache.invalidated.tags", invalidatedAt, Cache::estimatedSize);
+        meterRegistry.gauge("bookclub.response.cache.bytes", cache,
+            c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L));
+    }
+    
+    <T> ResponseEntity<byte[]> respond(WebRequest request, String key, Supplier<String> stamp, Supplier<T> body,
+                                       Function<T, Set<String>> tags) {
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (isCurrent(cached)) {
+                hits.increment();
+                return ConditionalGet.respondSerialized(request, cached.etag(), cached.body());
+            }
+            stale.increment();
+            cache.asMap().remove(key, cached);
+        } else {
+            misses.increment();
+        }
+        
+        // Taken before the reads, so a write that commits while they run leaves this fill already stale
+        long filledAt = invalidations.get();
+        String etag = stamp.get();
+        T value = body.get();
+        byte[] json = jsonMapper.writeValueAsBytes(value);
+        if (etag != null) {
+            // Checked once it is in: an invalidation that landed during the fill is forgotten sooner than this
+            // entry expires, so drop it now instead of relying on the record to still be there
+            CachedResponse response = new CachedResponse(etag, json, tags.apply(value), filledAt);
+            cache.put(key, response);
+            if (!isCurrent(response)) {
+                cache.asMap().remove(key, response);
+            }
+        }
+        return ConditionalGet.respondSerialized(request, etag, json);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        long at = invalidations.incrementAndGet();
+        for (String tag : event.tags()) {
+            invalidatedAt.asMap().merge(tag, at, Math::max);
+        }
+        if (event.tags().contains(ContentTags.ALL)) {
+            cache.invalidateAll();
+        }
+    }
+    
+    private boolean isCurrent(CachedResponse cached) {
+        if (invalidatedAt.asMap().getOrDefault(ContentTags.ALL, 0L) > cached.filledAt()) {
+            return false;
+        }
+        for (String tag : cached.tags()) {
+            if (invalidatedAt.asMap().getOrDefault(tag, 0L) > cached.filledAt()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
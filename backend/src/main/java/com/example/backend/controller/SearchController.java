@@ -0,0 +1,32 @@
+package com.example.backend.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.backend.dto.SearchHit;
+import com.example.backend.service.SearchIndexer;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+    @Autowired
+    private SearchIndexer searchIndexer;
+    
+    @GetMapping
+    public ResponseEntity<List<SearchHit>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Long bookId,
+            @RequestParam(required = false) Long weekId,
+            @RequestParam(required = false) Long chapterId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchIndexer.search(q, bookId, weekId, chapterId, limit));
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,9 +18,14 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.backend.dto.UserDetail;
+import com.example.backend.dto.UserRequest;
 import com.example.backend.model.User;
+import com.example.backend.service.AccessTokenService;
 import com.example.backend.service.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/api/users")
 @CrossOrigin(origins = "*")
@@ -27,56 +33,74 @@ public class UserController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private AccessTokenService accessTokenService;
+    
     @PostMapping("/register")
-    public ResponseEntity<Map<String, Object>> registerUser(@RequestBody User user) {
+    public ResponseEntity<Map<String, Object>> registerUser(@RequestBody UserRequest user) {
         User createdUser = userService.createUser(user);
         Map<String, Object> response = new HashMap<>();
         response.put("id", createdUser.getId());
         response.put("username", createdUser.getUsername());
         response.put("email", createdUser.getEmail());
         response.put("currentChapter", createdUser.getCurrentChapter());
+        response.put("token", accessTokenService.issue(createdUser));
         return ResponseEntity.ok(response);
     }
     
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> credentials) {
+    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> credentials,
+                                                     HttpServletRequest request) {
         String username = credentials.get("username");
         String password = credentials.get("password");
         
-        User user = userService.authenticate(username, password);
+        User user = userService.authenticate(username, password, request.getRemoteAddr());
         
         Map<String, Object> response = new HashMap<>();
         response.put("id", user.getId());
         response.put("username", user.getUsername());
         response.put("email", user.getEmail());
         response.put("currentChapter", user.getCurrentChapter());
+        response.put("token", accessTokenService.issue(user));
         
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal AccessTokenService.Claims claims) {
+        accessTokenService.revoke(claims);
+        return ResponseEntity.ok().build();
+    }
+    
+    // A short-lived token for opening an event stream; see AccessTokenFilter
+    @PostMapping("/stream-token")
+    public ResponseEntity<Map<String, String>> streamToken(@AuthenticationPrincipal AccessTokenService.Claims claims) {
+        return ResponseEntity.ok(Map.of("token", accessTokenService.issueStreamToken(claims)));
+    }
+    
     @PostMapping
-    public ResponseEntity<User> createUser(@RequestBody User user) {
-        return ResponseEntity.ok(userService.createUser(user));
+    public ResponseEntity<UserDetail> createUser(@RequestBody UserRequest user) {
+        return ResponseEntity.ok(UserDetail.from(userService.createUser(user)));
     }
     
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<List<UserDetail>> getAllUsers() {
         return ResponseEntity.ok(userService.getAllUsers());
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUser(@PathVariable Long id) {
+    public ResponseEntity<UserDetail> getUser(@PathVariable Long id) {
         return ResponseEntity.ok(userService.getUserById(id));
     }
     
     @GetMapping("/username")
-    public ResponseEntity<User> getUserByUsername(@RequestParam String username) {
+    public ResponseEntity<UserDetail> getUserByUsername(@RequestParam String username) {
         return ResponseEntity.ok(userService.getUserByUsername(username)
             .orElseThrow(() -> new RuntimeException("User not found")));
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody User user) {
+    public ResponseEntity<UserDetail> updateUser(@PathVariable Long id, @RequestBody UserRequest user) {
         return ResponseEntity.ok(userService.updateUser(id, user));
     }
     
@@ -89,12 +113,12 @@ public class UserController {
     @PutMapping("/{id}/progress")
     public ResponseEntity<Map<String, Object>> updateProgress(@PathVariable Long id, @RequestBody Map<String, Integer> progressData) {
         Integer currentChapter = progressData.get("currentChapter");
-        User user = userService.updateUserProgress(id, currentChapter);
+        UserDetail user = userService.updateUserProgress(id, currentChapter);
         
         Map<String, Object> response = new HashMap<>();
-        response.put("id", user.getId());
-        response.put("username", user.getUsername());
-        response.put("currentChapter", user.getCurrentChapter());
+        response.put("id", user.id());
+        response.put("username", user.username());
+        response.put("currentChapter", user.currentChapter());
         
         return ResponseEntity.ok(response);
     }
@@ -102,13 +126,13 @@ public class UserController {
     @PutMapping("/{id}/username")
     public ResponseEntity<Map<String, Object>> updateUsername(@PathVariable Long id, @RequestBody Map<String, String> data) {
         String newUsername = data.get("username");
-        User user = userService.updateUsername(id, newUsername);
+        UserDetail user = userService.updateUsername(id, newUsername);
         
         Map<String, Object> response = new HashMap<>();
-        response.put("id", user.getId());
-        response.put("username", user.getUsername());
-        response.put("email", user.getEmail());
-        response.put("currentChapter", user.getCurrentChapter());
+        response.put("id", user.id());
+        response.put("username", user.username());
+        response.put("email", user.email());
+        response.put("currentChapter", user.currentChapter());
         
         return ResponseEntity.ok(response);
     }
@@ -13,9 +13,11 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.example.backend.model.Chapter;
-import com.example.backend.model.Week;
+import com.example.backend.dto.WeekDetail;
+import com.example.backend.dto.WeekRequest;
+import com.example.backend.event.ContentTags;
 import com.example.backend.service.WeekService;
 
 @RestController
@@ -25,28 +27,35 @@ public class WeekController {
     @Autowired
     private WeekService weekService;
     
+    @Autowired
+    private ResponseCache responseCache;
+    
     @PostMapping
-    public ResponseEntity<Week> createWeek(@RequestBody Week week) {
+    public ResponseEntity<WeekDetail> createWeek(@RequestBody WeekRequest week) {
         return ResponseEntity.ok(weekService.createWeek(week));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Week> getWeek(@PathVariable Long id) {
-        return ResponseEntity.ok(weekService.getWeekById(id));
+    public ResponseEntity<WeekDetail> getWeek(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.respond(request, weekService.getWeekStamp(id),
+            () -> weekService.getWeekById(id));
     }
     
     @GetMapping("/book/{bookId}")
-    public ResponseEntity<List<Week>> getWeeksByBook(@PathVariable Long bookId) {
-        return ResponseEntity.ok(weekService.getWeeksByBook(bookId));
+    public ResponseEntity<List<WeekDetail>> getWeeksByBook(@PathVariable Long bookId, WebRequest request) {
+        return ConditionalGet.respond(request, weekService.getWeeksByBookStamp(bookId),
+            () -> weekService.getWeeksByBook(bookId));
     }
     
     @GetMapping("/{weekId}/chapters")
-    public ResponseEntity<List<Chapter>> getChaptersForWeek(@PathVariable Long weekId) {
-        return ResponseEntity.ok(weekService.getChaptersForWeek(weekId));
+    public ResponseEntity<byte[]> getChaptersForWeek(@PathVariable Long weekId, WebRequest request) {
+        return responseCache.respond(request, "weeks/" + weekId + "/chapters",
+            () -> weekService.getChaptersForWeekStamp(weekId), () -> weekService.getChaptersForWeek(weekId),
+            chapters -> ContentTags.ofChapters(chapters, ContentTags.week(weekId)));
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Week> updateWeek(@PathVariable Long id, @RequestBody Week week) {
+    public ResponseEntity<WeekDetail> updateWeek(@PathVariable Long id, @RequestBody WeekRequest week) {
         return ResponseEntity.ok(weekService.updateWeek(id, week));
     }
     
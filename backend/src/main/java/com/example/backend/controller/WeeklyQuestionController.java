@@ -13,9 +13,12 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.example.backend.model.QuestionAnswer;
-import com.example.backend.model.WeeklyQuestion;
+import com.example.backend.dto.AnswerDetail;
+import com.example.backend.dto.QuestionDetail;
+import com.example.backend.dto.QuestionRequest;
+import com.example.backend.event.ContentTags;
 import com.example.backend.service.WeeklyQuestionService;
 
 @RestController
@@ -25,28 +28,35 @@ public class WeeklyQuestionController {
     @Autowired
     private WeeklyQuestionService weeklyQuestionService;
     
+    @Autowired
+    private ResponseCache responseCache;
+    
     @PostMapping
-    public ResponseEntity<WeeklyQuestion> createQuestion(@RequestBody WeeklyQuestion question) {
+    public ResponseEntity<QuestionDetail> createQuestion(@RequestBody QuestionRequest question) {
         return ResponseEntity.ok(weeklyQuestionService.createQuestion(question));
     }
     
     @GetMapping("/week/{weekId}")
-    public ResponseEntity<List<WeeklyQuestion>> getQuestionsByWeek(@PathVariable Long weekId) {
-        return ResponseEntity.ok(weeklyQuestionService.getQuestionsByWeek(weekId));
+    public ResponseEntity<byte[]> getQuestionsByWeek(@PathVariable Long weekId, WebRequest request) {
+        return responseCache.respond(request, "questions/week/" + weekId,
+            () -> weeklyQuestionService.getQuestionsByWeekStamp(weekId),
+            () -> weeklyQuestionService.getQuestionsByWeek(weekId),
+            questions -> ContentTags.ofQuestions(questions, ContentTags.week(weekId)));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<WeeklyQuestion> getQuestion(@PathVariable Long id) {
-        return ResponseEntity.ok(weeklyQuestionService.getQuestionById(id));
+    public ResponseEntity<QuestionDetail> getQuestion(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.respond(request, weeklyQuestionService.getQuestionStamp(id),
+            () -> weeklyQuestionService.getQuestionById(id));
     }
     
     @GetMapping("/{questionId}/answers")
-    public ResponseEntity<List<QuestionAnswer>> getAnswersForQuestion(@PathVariable Long questionId) {
+    public ResponseEntity<List<AnswerDetail>> getAnswersForQuestion(@PathVariable Long questionId) {
         return ResponseEntity.ok(weeklyQuestionService.getAnswersForQuestion(questionId));
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<WeeklyQuestion> updateQuestion(@PathVariable Long id, @RequestBody String questionText) {
+    public ResponseEntity<QuestionDetail> updateQuestion(@PathVariable Long id, @RequestBody String questionText) {
         return ResponseEntity.ok(weeklyQuestionService.updateQuestion(id, questionText));
     }
     
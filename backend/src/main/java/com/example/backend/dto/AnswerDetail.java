@@ -0,0 +1,24 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.backend.model.QuestionAnswer;
+
+public record AnswerDetail(
+    Long id,
+    Long questionId,
+    UserSummary user,
+    String answer,
+    LocalDateTime createdAt
+) {
+    // Projection, with the author as two columns
+    public AnswerDetail(Long id, Long questionId, Long userId, String username, String answer,
+                        LocalDateTime createdAt) {
+        this(id, questionId, userId == null ? null : new UserSummary(userId, username), answer, createdAt);
+    }
+    
+    public static AnswerDetail from(QuestionAnswer answer) {
+        return new AnswerDetail(answer.getId(), answer.getQuestion().getId(), UserSummary.from(answer.getUser()),
+            answer.getAnswer(), answer.getCreatedAt());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+public record AnswerExport(
+    String type,
+    Long id,
+    Integer weekNumber,
+    Long questionId,
+    String question,
+    String username,
+    String answer,
+    LocalDateTime createdAt
+) {
+    // Used by the JPQL constructor projection
+    public AnswerExport(Long id, Integer weekNumber, Long questionId, String question, String username, String answer,
+                        LocalDateTime createdAt) {
+        this("answer", id, weekNumber, questionId, question, username, answer, createdAt);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.backend.dto;
+
+public record AnswerRequest(
+    String answer,
+    EntityRef question,
+    EntityRef user
+) {
+}
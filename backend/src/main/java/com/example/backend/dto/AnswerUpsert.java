@@ -0,0 +1,20 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+// Row returned by QuestionAnswerRepository.upsert; inserted is false when an existing answer was overwritten
+public interface AnswerUpsert {
+    Long getId();
+    
+    Long getQuestionId();
+    
+    Long getUserId();
+    
+    String getUsername();
+    
+    String getAnswer();
+    
+    LocalDateTime getCreatedAt();
+    
+    Boolean getInserted();
+}
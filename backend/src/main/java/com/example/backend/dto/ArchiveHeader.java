@@ -0,0 +1,16 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+// First line of a book's NDJSON archive
+public record ArchiveHeader(
+    String type,
+    Long bookId,
+    String title,
+    String author,
+    LocalDateTime exportedAt
+) {
+    public ArchiveHeader(Long bookId, String title, String author, LocalDateTime exportedAt) {
+        this("book", bookId, title, author, exportedAt);
+    }
+}
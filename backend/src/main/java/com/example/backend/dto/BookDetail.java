@@ -0,0 +1,28 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.backend.model.Book;
+
+public record BookDetail(
+    Long id,
+    String title,
+    String author,
+    Integer totalChapters,
+    Boolean isActive,
+    LocalDateTime createdAt,
+    List<WeekDetail> weeks
+) {
+    // Projection; weeks are filled in afterwards from a separate query
+    public BookDetail(Long id, String title, String author, Integer totalChapters, Boolean isActive,
+                      LocalDateTime createdAt) {
+        this(id, title, author, totalChapters, isActive, createdAt, new ArrayList<>());
+    }
+    
+    public static BookDetail from(Book book) {
+        return new BookDetail(book.getId(), book.getTitle(), book.getAuthor(), book.getTotalChapters(),
+            book.getIsActive(), book.getCreatedAt());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+public record BookImport(
+    String title,
+    String author,
+    Boolean isActive,
+    List<WeekImport> weeks
+) {
+}
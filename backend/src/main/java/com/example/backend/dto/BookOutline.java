@@ -0,0 +1,12 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+public record BookOutline(
+    Long id,
+    String title,
+    String author,
+    Integer totalChapters,
+    List<WeekOutline> weeks
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.backend.dto;
+
+public record BookRequest(
+    String title,
+    String author,
+    Integer totalChapters,
+    Boolean isActive
+) {
+}
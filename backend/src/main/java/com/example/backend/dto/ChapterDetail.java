@@ -0,0 +1,26 @@
+package com.example.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.backend.model.Chapter;
+
+public record ChapterDetail(
+    Long id,
+    Long weekId,
+    Integer chapterNumber,
+    String title,
+    Long commentCount,
+    List<CommentDetail> comments
+) {
+    // Projection; comments are filled in afterwards from a separate query
+    public ChapterDetail(Long id, Long weekId, Integer chapterNumber, String title, Long commentCount) {
+        this(id, weekId, chapterNumber, title, commentCount, new ArrayList<>());
+    }
+    
+    // The count comes from ChapterCounter, which Chapter does not map
+    public static ChapterDetail from(Chapter chapter, long commentCount) {
+        return new ChapterDetail(chapter.getId(), chapter.getWeek().getId(), chapter.getChapterNumber(),
+            chapter.getTitle(), commentCount);
+    }
+}
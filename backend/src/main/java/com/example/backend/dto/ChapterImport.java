@@ -0,0 +1,7 @@
+package com.example.backend.dto;
+
+public record ChapterImport(
+    Integer chapterNumber,
+    String title
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.backend.dto;
+
+public record ChapterOutline(
+    Long id,
+    Integer chapterNumber,
+    String title,
+    long commentCount
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.backend.dto;
+
+// week is only read on create; an update keeps the chapter where it is
+public record ChapterRequest(
+    EntityRef week,
+    Integer chapterNumber,
+    String title
+) {
+}
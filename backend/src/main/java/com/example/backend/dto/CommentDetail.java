@@ -0,0 +1,25 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.backend.model.Comment;
+
+public record CommentDetail(
+    Long id,
+    Long chapterId,
+    UserSummary user,
+    String content,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+    // Projection: JPQL constructor expressions cannot nest, so the author arrives as two columns
+    public CommentDetail(Long id, Long chapterId, Long userId, String username, String content,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, chapterId, userId == null ? null : new UserSummary(userId, username), content, createdAt, updatedAt);
+    }
+    
+    public static CommentDetail from(Comment comment) {
+        return new CommentDetail(comment.getId(), comment.getChapter().getId(), UserSummary.from(comment.getUser()),
+            comment.getContent(), comment.getCreatedAt(), comment.getUpdatedAt());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+public record CommentExport(
+    String type,
+    Long id,
+    Integer weekNumber,
+    Long chapterId,
+    Integer chapterNumber,
+    String chapterTitle,
+    String username,
+    String content,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+    // Used by the JPQL constructor projection
+    public CommentExport(Long id, Integer weekNumber, Long chapterId, Integer chapterNumber, String chapterTitle,
+                         String username, String content, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this("comment", id, weekNumber, chapterId, chapterNumber, chapterTitle, username, content, createdAt, updatedAt);
+    }
+}
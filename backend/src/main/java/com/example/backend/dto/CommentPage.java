@@ -0,0 +1,10 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+// nextCursor is null once the oldest comment has been returned
+public record CommentPage(
+    List<CommentDetail> comments,
+    String nextCursor
+) {
+}
@@ -0,0 +1,8 @@
+package com.example.backend.dto;
+
+public record CommentRequest(
+    String content,
+    EntityRef chapter,
+    EntityRef user
+) {
+}
@@ -0,0 +1,7 @@
+package com.example.backend.dto;
+
+// A reference to an existing row in a request body, e.g. "chapter": {"id": 12}
+public record EntityRef(
+    Long id
+) {
+}
@@ -0,0 +1,20 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+// Row returned by CommentRepository.insert
+public interface InsertedComment {
+    Long getId();
+    
+    Long getChapterId();
+    
+    Long getUserId();
+    
+    String getUsername();
+    
+    String getContent();
+    
+    LocalDateTime getCreatedAt();
+    
+    LocalDateTime getUpdatedAt();
+}
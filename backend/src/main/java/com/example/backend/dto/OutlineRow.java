@@ -0,0 +1,17 @@
+package com.example.backend.dto;
+
+import java.time.LocalDate;
+
+// One row per (week, chapter) pair; chapter columns are null for weeks without chapters
+public record OutlineRow(
+    Long weekId,
+    Integer weekNumber,
+    String weekTitle,
+    LocalDate startDate,
+    LocalDate endDate,
+    Long chapterId,
+    Integer chapterNumber,
+    String chapterTitle,
+    Long commentCount
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// readersPerChapter maps a chapter number to how many readers are currently on it
+public record ProgressSummary(
+    List<ReaderProgress> readers,
+    Map<Integer, Long> readersPerChapter
+) {
+}
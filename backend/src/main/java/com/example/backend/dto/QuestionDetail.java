@@ -0,0 +1,18 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.backend.model.WeeklyQuestion;
+
+public record QuestionDetail(
+    Long id,
+    Long weekId,
+    String question,
+    Long answerCount,
+    LocalDateTime createdAt
+) {
+    public static QuestionDetail from(WeeklyQuestion question) {
+        return new QuestionDetail(question.getId(), question.getWeek().getId(), question.getQuestion(),
+            question.getAnswerCount(), question.getCreatedAt());
+    }
+}
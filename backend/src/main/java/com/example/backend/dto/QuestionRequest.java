@@ -0,0 +1,7 @@
+package com.example.backend.dto;
+
+public record QuestionRequest(
+    EntityRef week,
+    String question
+) {
+}
@@ -0,0 +1,8 @@
+package com.example.backend.dto;
+
+public record ReaderProgress(
+    Long id,
+    String username,
+    Integer currentChapter
+) {
+}
@@ -0,0 +1,29 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+// A comment or answer as the search index sees it; chapterId is null for answers, questionId for comments
+public record SearchDocument(
+    String type,
+    Long id,
+    Long bookId,
+    Long weekId,
+    Long chapterId,
+    Long questionId,
+    String question,
+    String text,
+    String username,
+    LocalDateTime createdAt
+) {
+    // Comment projection
+    public SearchDocument(Long id, Long bookId, Long weekId, Long chapterId, String text, String username,
+                          LocalDateTime createdAt) {
+        this("comment", id, bookId, weekId, chapterId, null, null, text, username, createdAt);
+    }
+    
+    // Answer projection
+    public SearchDocument(Long id, Long bookId, Long weekId, Long questionId, String question, String text,
+                          String username, LocalDateTime createdAt) {
+        this("answer", id, bookId, weekId, null, questionId, question, text, username, createdAt);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+public record SearchHit(
+    String type,
+    Long id,
+    Long bookId,
+    Long weekId,
+    Long chapterId,
+    Long questionId,
+    String question,
+    String snippet,
+    String username,
+    LocalDateTime createdAt,
+    double score
+) {
+}
@@ -0,0 +1,18 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.backend.model.User;
+
+public record UserDetail(
+    Long id,
+    String username,
+    String email,
+    Integer currentChapter,
+    LocalDateTime createdAt
+) {
+    public static UserDetail from(User user) {
+        return new UserDetail(user.getId(), user.getUsername(), user.getEmail(), user.getCurrentChapter(),
+            user.getCreatedAt());
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.backend.dto;
+
+// Registration and profile updates; password is ignored by updates, which have their own endpoint
+public record UserRequest(
+    String username,
+    String email,
+    String password,
+    Integer currentChapter
+) {
+}
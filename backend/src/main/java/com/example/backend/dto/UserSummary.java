@@ -0,0 +1,13 @@
+package com.example.backend.dto;
+
+import com.example.backend.model.User;
+
+// The author shown next to a comment or answer
+public record UserSummary(
+    Long id,
+    String username
+) {
+    public static UserSummary from(User user) {
+        return user == null ? null : new UserSummary(user.getId(), user.getUsername());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.backend.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.backend.model.Week;
+
+public record WeekDetail(
+    Long id,
+    Long bookId,
+    Integer weekNumber,
+    String title,
+    LocalDate startDate,
+    LocalDate endDate,
+    List<ChapterDetail> chapters
+) {
+    // Projection; chapters are filled in afterwards from a separate query
+    public WeekDetail(Long id, Long bookId, Integer weekNumber, String title, LocalDate startDate, LocalDate endDate) {
+        this(id, bookId, weekNumber, title, startDate, endDate, new ArrayList<>());
+    }
+    
+    public static WeekDetail from(Week week) {
+        return new WeekDetail(week.getId(), week.getBook().getId(), week.getWeekNumber(), week.getTitle(),
+            week.getStartDate(), week.getEndDate());
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record WeekImport(
+    Integer weekNumber,
+    String title,
+    LocalDate startDate,
+    LocalDate endDate,
+    List<ChapterImport> chapters,
+    List<String> questions
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record WeekOutline(
+    Long id,
+    Integer weekNumber,
+    String title,
+    LocalDate startDate,
+    LocalDate endDate,
+    List<ChapterOutline> chapters
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.backend.dto;
+
+import java.time.LocalDate;
+
+// book is only read on create; an update keeps the week where it is
+public record WeekRequest(
+    EntityRef book,
+    Integer weekNumber,
+    String title,
+    LocalDate startDate,
+    LocalDate endDate
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.backend.event;
+
+// Published by QuestionAnswerService
+public record AnswerEvent(
+    Type type,
+    Long questionId,
+    Long answerId
+) {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
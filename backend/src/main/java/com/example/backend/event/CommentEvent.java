@@ -0,0 +1,27 @@
+package com.example.backend.event;
+
+import com.example.backend.dto.CommentDetail;
+
+// Published by CommentService; comment is null for deletions
+public record CommentEvent(
+    Type type,
+    Long chapterId,
+    Long commentId,
+    CommentDetail comment
+) {
+    public enum Type {
+        CREATED("comment-created"),
+        UPDATED("comment-updated"),
+        DELETED("comment-deleted");
+        
+        private final String eventName;
+        
+        Type(String eventName) {
+            this.eventName = eventName;
+        }
+        
+        public String eventName() {
+            return eventName;
+        }
+    }
+}
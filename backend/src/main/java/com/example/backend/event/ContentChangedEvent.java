@@ -0,0 +1,12 @@
+package com.example.backend.event;
+
+import java.util.Set;
+
+// Published by the services after writes; the tags (see ContentTags) name the rows that changed
+public record ContentChangedEvent(
+    Set<String> tags
+) {
+    public static ContentChangedEvent of(String... tags) {
+        return new ContentChangedEvent(Set.of(tags));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.backend.event;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.example.backend.dto.ChapterDetail;
+import com.example.backend.dto.CommentDetail;
+import com.example.backend.dto.QuestionDetail;
+import com.example.backend.dto.WeekDetail;
+
+// Cache tags. A cached response carries the tag of every row it was built from, and a write invalidates
+// the tags of the rows it touched; a row that gains or loses children is tagged as the children's parent.
+public final class ContentTags {
+    // Which book is active
+    public static final String CURRENT_BOOK = "current-book";
+    // Everything, for writes that cannot say what they touched
+    public static final String ALL = "*";
+    
+    private ContentTags() {
+    }
+    
+    public static String book(Long id) {
+        return "book:" + id;
+    }
+    
+    public static String week(Long id) {
+        return "week:" + id;
+    }
+    
+    public static String chapter(Long id) {
+        return "chapter:" + id;
+    }
+    
+    public static String question(Long id) {
+        return "question:" + id;
+    }
+    
+    // Comments render their author's name
+    public static String user(Long id) {
+        return "user:" + id;
+    }
+    
+    // The tags of everything in the list, plus those of whatever the list belongs to
+    public static Set<String> ofWeeks(Collection<WeekDetail> weeks, String... parents) {
+        Set<String> tags = new HashSet<>(List.of(parents));
+        for (WeekDetail week : weeks) {
+            tags.add(week(week.id()));
+            tags.addAll(ofChapters(week.chapters()));
+        }
+        return tags;
+    }
+    
+    public static Set<String> ofChapters(Collection<ChapterDetail> chapters, String... parents) {
+        Set<String> tags = new HashSet<>(List.of(parents));
+        for (ChapterDetail chapter : chapters) {
+            tags.add(chapter(chapter.id()));
+            for (CommentDetail comment : chapter.comments()) {
+                if (comment.user() != null) {
+                    tags.add(user(comment.user().id()));
+                }
+            }
+        }
+        return tags;
+    }
+    
+    public static Set<String> ofQuestions(Collection<QuestionDetail> questions, String... parents) {
+        Set<String> tags = new HashSet<>(List.of(parents));
+        for (QuestionDetail question : questions) {
+            tags.add(question(question.id()));
+        }
+        return tags;
+    }
+}
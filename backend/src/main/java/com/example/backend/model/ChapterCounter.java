@@ -0,0 +1,23 @@
+package com.example.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A chapter's comment counter, mapped apart from Chapter so it stays out of the second-level cache: posts bump
+// it with a native statement Hibernate cannot see, and a cached copy would serve the old count. Chapters are
+// only ever created through Chapter; the column default starts the count at zero.
+@Entity
+@Table(name = "chapters")
+@Data
+@NoArgsConstructor
+public class ChapterCounter {
+    @Id
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long commentCount;
+}
@@ -4,8 +4,11 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -15,7 +18,9 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -27,7 +32,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class WeeklyQuestion {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "weekly_questions_seq")
+    @SequenceGenerator(name = "weekly_questions_seq", sequenceName = "weekly_questions_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -37,9 +43,22 @@ public class WeeklyQuestion {
     @Column(columnDefinition = "TEXT")
     private String question;
     
+    // Kept in step with question_answers by QuestionAnswerService
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long answerCount = 0L;
+    
+    // Answers are served by /api/answers/question/{id}; serializing them here recursed through answer.question
     @OneToMany(mappedBy = "question", cascade = CascadeType.ALL)
+    @JsonIgnore
     private List<QuestionAnswer> answers = new ArrayList<>();
     
     @CreatedDate
     private LocalDateTime createdAt;
+    
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonIgnore
+    private Long version;
 }
\ No newline at end of file
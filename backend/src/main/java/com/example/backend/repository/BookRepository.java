@@ -3,11 +3,45 @@ package com.example.backend.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.backend.dto.BookDetail;
 import com.example.backend.model.Book;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
     Optional<Book> findByIsActiveTrue();
+    
+    @Query("""
+        select new com.example.backend.dto.BookDetail(b.id, b.title, b.author, b.totalChapters, b.isActive, b.createdAt)
+        from Book b
+        where b.isActive = true
+        """)
+    Optional<BookDetail> findCurrentDetail();
+    
+    @Modifying
+    @Query("update versioned Book b set b.isActive = false where b.isActive = true and b.id <> :bookId")
+    int deactivateAllExcept(@Param("bookId") Long bookId);
+    
+    @Modifying
+    @Query("update versioned Book b set b.isActive = true where b.id = :bookId")
+    int activate(@Param("bookId") Long bookId);
+    
+    // Digests of content_versions (see V1__initial_schema.sql) for the rows each read serializes; null when there are none
+    @Query(value = """
+        SELECT md5(string_agg(kind || id || ':' || version, ',' ORDER BY kind, id))
+        FROM content_versions
+        WHERE kind <> 'q' AND book_id = (SELECT id FROM books WHERE is_active)
+        """, nativeQuery = true)
+    String findCurrentBookStamp();
+    
+    @Query(value = """
+        SELECT md5(string_agg(kind || id || ':' || version, ',' ORDER BY kind, id))
+        FROM content_versions
+        WHERE kind IN ('b', 'w', 'c') AND book_id = (SELECT id FROM books WHERE is_active)
+        """, nativeQuery = true)
+    String findCurrentOutlineStamp();
 }
@@ -1,13 +1,73 @@
 package com.example.backend.repository;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.backend.dto.ChapterDetail;
 import com.example.backend.model.Chapter;
 
 @Repository
 public interface ChapterRepository extends JpaRepository<Chapter, Long> {
-    List<Chapter> findByWeekIdOrderByChapterNumber(Long weekId);
+    // Not query-cached: the row carries the comment count, which every post changes without Hibernate seeing it
+    @Query("""
+        select new com.example.backend.dto.ChapterDetail(c.id, c.week.id, c.chapterNumber, c.title, k.commentCount)
+        from Chapter c
+        join ChapterCounter k on k.id = c.id
+        where c.week.id = :weekId
+        order by c.chapterNumber
+        """)
+    List<ChapterDetail> findDetailsByWeekId(@Param("weekId") Long weekId);
+    
+    @Query("""
+        select new com.example.backend.dto.ChapterDetail(c.id, w.id, c.chapterNumber, c.title, k.commentCount)
+        from Chapter c
+        join c.week w
+        join ChapterCounter k on k.id = c.id
+        where w.book.id = :bookId
+        order by w.weekNumber, c.chapterNumber
+        """)
+    List<ChapterDetail> findDetailsByBookId(@Param("bookId") Long bookId);
+    
+    @Query("""
+        select new com.example.backend.dto.ChapterDetail(c.id, c.week.id, c.chapterNumber, c.title, k.commentCount)
+        from Chapter c
+        join ChapterCounter k on k.id = c.id
+        where c.id = :id
+        """)
+    Optional<ChapterDetail> findDetailById(@Param("id") Long id);
+    
+    // Leaves the chapter's version alone; content_versions folds the count into it for the ETags
+    @Modifying
+    @Query("update ChapterCounter k set k.commentCount = k.commentCount + :delta where k.id = :chapterId")
+    int adjustCommentCount(@Param("chapterId") Long chapterId, @Param("delta") long delta);
+    
+    @Modifying
+    @Query(value = """
+        UPDATE chapters c SET comment_count = counted.total
+        FROM (SELECT ch.id, count(cm.id) AS total
+              FROM chapters ch LEFT JOIN comments cm ON cm.chapter_id = ch.id
+              GROUP BY ch.id) counted
+        WHERE c.id = counted.id AND c.comment_count <> counted.total
+        """, nativeQuery = true)
+    int reconcileCommentCounts();
+    
+    @Query(value = """
+        SELECT md5(string_agg(kind || id || ':' || version, ',' ORDER BY kind, id))
+        FROM content_versions
+        WHERE kind IN ('c', 'm') AND week_id = :weekId
+        """, nativeQuery = true)
+    String findWeekChaptersStamp(@Param("weekId") Long weekId);
+    
+    @Query(value = """
+        SELECT md5(string_agg(kind || id || ':' || version, ',' ORDER BY kind, id))
+        FROM content_versions
+        WHERE kind IN ('c', 'm') AND chapter_id = :id
+        """, nativeQuery = true)
+    String findChapterStamp(@Param("id") Long id);
 }
\ No newline at end of file
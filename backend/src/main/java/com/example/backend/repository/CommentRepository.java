@@ -1,13 +1,159 @@
 package com.example.backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.backend.dto.CommentDetail;
+import com.example.backend.dto.CommentExport;
+import com.example.backend.dto.InsertedComment;
+import com.example.backend.dto.SearchDocument;
 import com.example.backend.model.Comment;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByChapterIdOrderByCreatedAtDesc(Long chapterId);
-}
\ No newline at end of file
+    // Insert and chapter counter bump in one statement; the author's name comes back with the row
+    @Query(value = """
+        WITH saved AS (
+            INSERT INTO comments (chapter_id, user_id, content, created_at, updated_at, version)
+            VALUES (:chapterId, :userId, :content, :postedAt, :postedAt, 0)
+            RETURNING id, chapter_id, user_id, content, created_at, updated_at
+        ), counted AS (
+            UPDATE chapters c SET comment_count = c.comment_count + 1
+            WHERE c.id = (SELECT chapter_id FROM saved)
+        )
+        SELECT s.id AS "id", s.chapter_id AS "chapterId", s.user_id AS "userId", u.username AS "username",
+               s.content AS "content", s.created_at AS "createdAt", s.updated_at AS "updatedAt"
+        FROM saved s JOIN users u ON u.id = s.user_id
+        """, nativeQuery = true)
+    InsertedComment insert(@Param("chapterId") Long chapterId, @Param("userId") Long userId,
+                           @Param("content") String content, @Param("postedAt") LocalDateTime postedAt);
+    
+    @Query("""
+        select new com.example.backend.dto.CommentDetail(
+            c.id, c.chapter.id, u.id, u.username, c.content, c.createdAt, c.updatedAt)
+        from Comment c
+        left join c.user u
+        where c.chapter.id = :chapterId
+        order by c.createdAt desc, c.id desc
+        """)
+    List<CommentDetail> findDetailsByChapterId(@Param("chapterId") Long chapterId);
+    
+    @Query("""
+        select new com.example.backend.dto.CommentDetail(
+            c.id, ch.id, u.id, u.username, c.content, c.createdAt, c.updatedAt)
+        from Comment c
+        join c.chapter ch
+        left join c.user u
+        where ch.week.id = :weekId
+        order by c.createdAt desc, c.id desc
+        """)
+    List<CommentDetail> findDetailsByWeekId(@Param("weekId") Long weekId);
+    
+    @Query("""
+        select new com.example.backend.dto.CommentDetail(
+            c.id, ch.id, u.id, u.username, c.content, c.createdAt, c.updatedAt)
+        from Comment c
+        join c.chapter ch
+        join ch.week w
+        left join c.user u
+        where w.book.id = :bookId
+        order by c.createdAt desc, c.id desc
+        """)
+    List<CommentDetail> findDetailsByBookId(@Param("bookId") Long bookId);
+    
+    @Query("""
+        select new com.example.backend.dto.CommentDetail(
+            c.id, c.chapter.id, u.id, u.username, c.content, c.createdAt, c.updatedAt)
+        from Comment c
+        left join c.user u
+        where c.id = :id
+        """)
+    Optional<CommentDetail> findDetailById(@Param("id") Long id);
+    
+    // Keyset pages walk idx_comments_chapter_created_id newest-first, so depth never adds an OFFSET scan
+    @Query("""
+        select new com.example.backend.dto.CommentDetail(
+            c.id, c.chapter.id, u.id, u.username, c.content, c.createdAt, c.updatedAt)
+        from Comment c
+        left join c.user u
+        where c.chapter.id = :chapterId
+        order by c.createdAt desc, c.id desc
+        """)
+    List<CommentDetail> findFirstPageByChapterId(@Param("chapterId") Long chapterId, Pageable window);
+    
+    @Query("""
+        select new com.example.backend.dto.CommentDetail(
+            c.id, c.chapter.id, u.id, u.username, c.content, c.createdAt, c.updatedAt)
+        from Comment c
+        left join c.user u
+        where c.chapter.id = :chapterId
+          and (c.createdAt, c.id) < (:createdAt, :id)
+        order by c.createdAt desc, c.id desc
+        """)
+    List<CommentDetail> findPageByChapterIdBefore(@Param("chapterId") Long chapterId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable window);
+    
+    // Streams straight off a server-side cursor; PostgreSQL only honours the fetch size inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        select new com.example.backend.dto.CommentExport(
+            c.id, w.weekNumber, ch.id, ch.chapterNumber, ch.title, u.username, c.content, c.createdAt, c.updatedAt)
+        from Comment c
+        join c.chapter ch
+        join ch.week w
+        left join c.user u
+        where w.book.id = :bookId
+        order by w.weekNumber, ch.chapterNumber, c.createdAt, c.id
+        """)
+    Stream<CommentExport> streamExportByBookId(@Param("bookId") Long bookId);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        select new com.example.backend.dto.SearchDocument(
+            c.id, w.book.id, w.id, ch.id, c.content, u.username, c.createdAt)
+        from Comment c
+        join c.chapter ch
+        join ch.week w
+        left join c.user u
+        """)
+    Stream<SearchDocument> streamSearchDocuments();
+    
+    @Query("""
+        select new com.example.backend.dto.SearchDocument(
+            c.id, w.book.id, w.id, ch.id, c.content, u.username, c.createdAt)
+        from Comment c
+        join c.chapter ch
+        join ch.week w
+        left join c.user u
+        where c.id = :id
+        """)
+    Optional<SearchDocument> findSearchDocumentById(@Param("id") Long id);
+    
+    @Query(value = """
+        SELECT md5(string_agg(kind || id || ':' || version, ',' ORDER BY kind, id))
+        FROM content_versions
+        WHERE kind = 'm' AND chapter_id = :chapterId
+        """, nativeQuery = true)
+    String findChapterCommentsStamp(@Param("chapterId") Long chapterId);
+    
+    @Query(value = """
+        SELECT md5(string_agg(kind || id || ':' || version, ',' ORDER BY kind, id))
+        FROM content_versions
+        WHERE kind = 'm' AND id = :id
+        """, nativeQuery = true)
+    String findCommentStamp(@Param("id") Long id);
+}
@@ -1,15 +1,97 @@
 package com.example.backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.backend.dto.AnswerDetail;
+import com.example.backend.dto.AnswerExport;
+import com.example.backend.dto.AnswerUpsert;
+import com.example.backend.dto.SearchDocument;
 import com.example.backend.model.QuestionAnswer;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface QuestionAnswerRepository extends JpaRepository<QuestionAnswer, Long> {
-    List<QuestionAnswer> findByQuestionId(Long questionId);
+    @Query("""
+        select new com.example.backend.dto.AnswerDetail(a.id, a.question.id, u.id, u.username, a.answer, a.createdAt)
+        from QuestionAnswer a
+        left join a.user u
+        where a.question.id = :questionId
+        order by a.createdAt, a.id
+        """)
+    List<AnswerDetail> findDetailsByQuestionId(@Param("questionId") Long questionId);
+    
+    @Query("""
+        select new com.example.backend.dto.AnswerDetail(a.id, a.question.id, u.id, u.username, a.answer, a.createdAt)
+        from QuestionAnswer a
+        left join a.user u
+        where a.id = :id
+        """)
+    Optional<AnswerDetail> findDetailById(@Param("id") Long id);
+    
     Optional<QuestionAnswer> findByQuestionIdAndUserId(Long questionId, Long userId);
+    
+    // One answer per member and question: a repeat submission overwrites the text in place. xmax is 0 only
+    // on a freshly inserted row, and only then is the question's answer counter bumped, in the same statement.
+    @Query(value = """
+        WITH saved AS (
+            INSERT INTO question_answers (question_id, user_id, answer, created_at)
+            VALUES (:questionId, :userId, :answer, :createdAt)
+            ON CONFLICT (question_id, user_id) DO UPDATE SET answer = excluded.answer
+            RETURNING id, question_id, user_id, answer, created_at, xmax = 0 AS inserted
+        ), counted AS (
+            UPDATE weekly_questions q SET answer_count = q.answer_count + 1, version = q.version + 1
+            WHERE q.id IN (SELECT question_id FROM saved WHERE inserted)
+        )
+        SELECT s.id AS "id", s.question_id AS "questionId", s.user_id AS "userId", u.username AS "username",
+               s.answer AS "answer", s.created_at AS "createdAt", s.inserted AS "inserted"
+        FROM saved s JOIN users u ON u.id = s.user_id
+        """, nativeQuery = true)
+    AnswerUpsert upsert(@Param("questionId") Long questionId, @Param("userId") Long userId,
+                        @Param("answer") String answer, @Param("createdAt") LocalDateTime createdAt);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        select new com.example.backend.dto.AnswerExport(
+            a.id, w.weekNumber, q.id, q.question, u.username, a.answer, a.createdAt)
+        from QuestionAnswer a
+        join a.question q
+        join q.week w
+        left join a.user u
+        where w.book.id = :bookId
+        order by w.weekNumber, q.id, a.createdAt, a.id
+        """)
+    Stream<AnswerExport> streamExportByBookId(@Param("bookId") Long bookId);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        select new com.example.backend.dto.SearchDocument(
+            a.id, w.book.id, w.id, q.id, q.question, a.answer, u.username, a.createdAt)
+        from QuestionAnswer a
+        join a.question q
+        join q.week w
+        left join a.user u
+        """)
+    Stream<SearchDocument> streamSearchDocuments();
+    
+    @Query("""
+        select new com.example.backend.dto.SearchDocument(
+            a.id, w.book.id, w.id, q.id, q.question, a.answer, u.username, a.createdAt)
+        from QuestionAnswer a
+        join a.question q
+        join q.week w
+        left join a.user u
+        where a.id = :id
+        """)
+    Optional<SearchDocument> findSearchDocumentById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -1,14 +1,61 @@
 package com.example.backend.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.backend.dto.ReaderProgress;
+import com.example.backend.dto.UserDetail;
 import com.example.backend.model.User;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Boolean existsByUsername(String username);
+    
+    @Query("""
+        select new com.example.backend.dto.UserDetail(u.id, u.username, u.email, u.currentChapter, u.createdAt)
+        from User u
+        order by u.id
+        """)
+    List<UserDetail> findAllDetails();
+    
+    @Query("""
+        select new com.example.backend.dto.UserDetail(u.id, u.username, u.email, u.currentChapter, u.createdAt)
+        from User u
+        where u.id = :id
+        """)
+    Optional<UserDetail> findDetailById(@Param("id") Long id);
+    
+    @Query("""
+        select new com.example.backend.dto.UserDetail(u.id, u.username, u.email, u.currentChapter, u.createdAt)
+        from User u
+        where u.username = :username
+        """)
+    Optional<UserDetail> findDetailByUsername(@Param("username") String username);
+    
+    @Query("""
+        select new com.example.backend.dto.ReaderProgress(u.id, u.username, coalesce(u.currentChapter, 0))
+        from User u
+        order by u.username
+        """)
+    List<ReaderProgress> findReaderProgress();
+    
+    // Single-column writes, so a progress marker ProgressWriteBuffer flushed after the user was read survives;
+    // saving the whole entity would write its stale currentChapter back
+    @Transactional
+    @Modifying
+    @Query("update versioned User u set u.username = :username where u.id = :id")
+    int updateUsername(@Param("id") Long id, @Param("username") String username);
+    
+    @Transactional
+    @Modifying
+    @Query("update versioned User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
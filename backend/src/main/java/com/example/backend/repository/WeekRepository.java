@@ -1,13 +1,63 @@
 package com.example.backend.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.backend.dto.OutlineRow;
+import com.example.backend.dto.WeekDetail;
 import com.example.backend.model.Week;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface WeekRepository extends JpaRepository<Week, Long> {
-    List<Week> findByBookIdOrderByWeekNumber(Long bookId);
-}
\ No newline at end of file
+    // Served from the query cache until a write to weeks invalidates it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+        select new com.example.backend.dto.WeekDetail(w.id, w.book.id, w.weekNumber, w.title, w.startDate, w.endDate)
+        from Week w
+        where w.book.id = :bookId
+        order by w.weekNumber
+        """)
+    List<WeekDetail> findDetailsByBookId(@Param("bookId") Long bookId);
+    
+    @Query("""
+        select new com.example.backend.dto.WeekDetail(w.id, w.book.id, w.weekNumber, w.title, w.startDate, w.endDate)
+        from Week w
+        where w.id = :id
+        """)
+    Optional<WeekDetail> findDetailById(@Param("id") Long id);
+    
+    @Query("""
+        select new com.example.backend.dto.OutlineRow(
+            w.id, w.weekNumber, w.title, w.startDate, w.endDate,
+            c.id, c.chapterNumber, c.title, k.commentCount)
+        from Week w
+        left join w.chapters c
+        left join ChapterCounter k on k.id = c.id
+        where w.book.id = :bookId
+        order by w.weekNumber, c.chapterNumber
+        """)
+    List<OutlineRow> findOutlineRowsByBookId(@Param("bookId") Long bookId);
+    
+    @Query(value = """
+        SELECT md5(string_agg(kind || id || ':' || version, ',' ORDER BY kind, id))
+        FROM content_versions
+        WHERE kind IN ('w', 'c', 'm') AND book_id = :bookId
+        """, nativeQuery = true)
+    String findBookWeeksStamp(@Param("bookId") Long bookId);
+    
+    @Query(value = """
+        SELECT md5(string_agg(kind || id || ':' || version, ',' ORDER BY kind, id))
+        FROM content_versions
+        WHERE kind IN ('w', 'c', 'm') AND week_id = :id
+        """, nativeQuery = true)
+    String findWeekStamp(@Param("id") Long id);
+}
@@ -1,13 +1,59 @@
 package com.example.backend.repository;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.backend.dto.QuestionDetail;
 import com.example.backend.model.WeeklyQuestion;
 
 @Repository
 public interface WeeklyQuestionRepository extends JpaRepository<WeeklyQuestion, Long> {
-    List<WeeklyQuestion> findByWeekId(Long weekId);
+    @Query("""
+        select new com.example.backend.dto.QuestionDetail(q.id, q.week.id, q.question, q.answerCount, q.createdAt)
+        from WeeklyQuestion q
+        where q.week.id = :weekId
+        order by q.id
+        """)
+    List<QuestionDetail> findDetailsByWeekId(@Param("weekId") Long weekId);
+    
+    @Query("""
+        select new com.example.backend.dto.QuestionDetail(q.id, q.week.id, q.question, q.answerCount, q.createdAt)
+        from WeeklyQuestion q
+        where q.id = :id
+        """)
+    Optional<QuestionDetail> findDetailById(@Param("id") Long id);
+    
+    @Modifying
+    @Query("update versioned WeeklyQuestion q set q.answerCount = q.answerCount + :delta where q.id = :questionId")
+    int adjustAnswerCount(@Param("questionId") Long questionId, @Param("delta") long delta);
+    
+    @Modifying
+    @Query(value = """
+        UPDATE weekly_questions q SET answer_count = counted.total, version = q.version + 1
+        FROM (SELECT wq.id, count(qa.id) AS total
+              FROM weekly_questions wq LEFT JOIN question_answers qa ON qa.question_id = wq.id
+              GROUP BY wq.id) counted
+        WHERE q.id = counted.id AND q.answer_count <> counted.total
+        """, nativeQuery = true)
+    int reconcileAnswerCounts();
+    
+    @Query(value = """
+        SELECT md5(string_agg(kind || id || ':' || version, ',' ORDER BY kind, id))
+        FROM content_versions
+        WHERE kind = 'q' AND week_id = :weekId
+        """, nativeQuery = true)
+    String findWeekQuestionsStamp(@Param("weekId") Long weekId);
+    
+    @Query(value = """
+        SELECT md5(string_agg(kind || id || ':' || version, ',' ORDER BY kind, id))
+        FROM content_versions
+        WHERE kind = 'q' AND id = :id
+        """, nativeQuery = true)
+    String findQuestionStamp(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.example.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.model.User;
+
+import jakarta.annotation.PostConstruct;
+
+// Stateless HMAC-SHA256 access tokens: verifying one is a MAC over a few dozen bytes,
+// with no database lookup and no password hashing. Stream tokens are a second, short-lived kind for event streams,
+// which EventSource can only authenticate through the URL; they are signed under their own prefix, so neither kind
+// verifies as the other.
+@Service
+public class AccessTokenService {
+    private static final Logger log = LoggerFactory.getLogger(AccessTokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String SESSION_SCOPE = "";
+    private static final String STREAM_SCOPE = "stream.";
+    
+    // Revoked token ids, kept only until the token would have expired anyway
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    
+    @Value("${bookclub.auth.token-secret:}")
+    private String configuredSecret;
+    
+    @Value("${bookclub.auth.token-ttl:PT12H}")
+    private Duration tokenTtl;
+    
+    // Only has to last until the stream is open; an open stream is not re-authenticated
+    @Value("${bookclub.auth.stream-token-ttl:PT1M}")
+    private Duration streamTokenTtl;
+    
+    @Autowired
+    private Environment environment;
+    
+    private SecretKeySpec key;
+    
+    public record Claims(Long userId, String username, Instant expiresAt, String tokenId) {
+    }
+    
+    @PostConstruct
+    void init() {
+        byte[] secret;
+        if (configuredSecret == null || configuredSecret.isBlank()) {
+            if (!environment.matchesProfiles("dev")) {
+                throw new IllegalStateException(
+                    "bookclub.auth.token-secret is not set; only the dev profile may run without it");
+            }
+            log.warn("bookclub.auth.token-secret is not set; using a random key, so tokens will not survive a restart");
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        } else {
+            secret = configuredSecret.getBytes(StandardCharsets.UTF_8);
+        }
+        key = new SecretKeySpec(secret, ALGORITHM);
+    }
+    
+    public String issue(User user) {
+        return issue(user.getId(), user.getUsername(), Instant.now().plus(tokenTtl), UUID.randomUUID().toString(),
+            SESSION_SCOPE);
+    }
+    
+    // Carries the session's token id, so logging out revokes it too, and never outlives the session
+    public String issueStreamToken(Claims session) {
+        Instant expiresAt = Instant.now().plus(streamTokenTtl);
+        if (expiresAt.isAfter(session.expiresAt())) {
+            expiresAt = session.expiresAt();
+        }
+        return issue(session.userId(), session.username(), expiresAt, session.tokenId(), STREAM_SCOPE);
+    }
+    
+    public Optional<Claims> verify(String token) {
+        return verify(token, SESSION_SCOPE);
+    }
+    
+    public Optional<Claims> verifyStreamToken(String token) {
+        return verify(token, STREAM_SCOPE);
+    }
+    
+    public void revoke(Claims claims) {
+        revoked.put(claims.tokenId(), claims.expiresAt());
+    }
+    
+    @Scheduled(fixedDelayString = "${bookclub.auth.revocation-sweep-interval:PT10M}")
+    public void purgeExpiredRevocations() {
+        Instant now = Instant.now();
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+    }
+    
+    private String issue(Long userId, String username, Instant expiresAt, String tokenId, String scope) {
+        String payload = userId + ":" + expiresAt.getEpochSecond() + ":" + tokenId + ":" + username;
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encodedPayload + "." + ENCODER.encodeToString(sign(scope + encodedPayload));
+    }
+    
+    private Optional<Claims> verify(String token, String scope) {
+        int separator = token.indexOf('.');
+        if (separator < 0) {
+            return Optional.empty();
+        }
+        String encodedPayload = token.substring(0, separator);
+        
+        try {
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(signature, sign(scope + encodedPayload))) {
+                return Optional.empty();
+            }
+            
+            String[] parts = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split(":", 4);
+            Claims claims = new Claims(Long.valueOf(parts[0]), parts[3],
+                Instant.ofEpochSecond(Long.parseLong(parts[1])), parts[2]);
+            if (claims.expiresAt().isBefore(Instant.now()) || revoked.containsKey(claims.tokenId())) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            return Optional.empty();
+        }
+    }
+    
+    // The scope prefix cannot occur in a Base64url payload, so no payload signs the same under two scopes
+    private byte[] sign(String signedPart) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(signedPart.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC signing unavailable", e);
+        }
+    }
+}
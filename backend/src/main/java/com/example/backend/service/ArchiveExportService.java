@@ -0,0 +1,115 @@
+package com.example.backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.backend.dto.AnswerExport;
+import com.example.backend.dto.ArchiveHeader;
+import com.example.backend.dto.CommentExport;
+import com.example.backend.model.Book;
+import com.example.backend.repository.BookRepository;
+import com.example.backend.repository.CommentRepository;
+import com.example.backend.repository.QuestionAnswerRepository;
+
+import jakarta.annotation.PostConstruct;
+import tools.jackson.databind.json.JsonMapper;
+
+// Writes a book's whole discussion as NDJSON: a header line, then every comment, then every answer.
+// Rows are DTO projections read off a database cursor, so nothing accumulates in the persistence
+// context and memory stays flat however large the archive is.
+@Service
+public class ArchiveExportService {
+    // Matches the repositories' fetch size, so each cursor round trip is pushed to the client
+    private static final int FLUSH_EVERY_ROWS = 500;
+    
+    @Autowired
+    private BookRepository bookRepository;
+    
+    @Autowired
+    private CommentRepository commentRepository;
+    
+    @Autowired
+    private QuestionAnswerRepository questionAnswerRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    private TransactionTemplate readOnlyTransaction;
+    
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+    
+    // The book is looked up before streaming starts, so a bad id is still an ordinary error response
+    public StreamingResponseBody exportArchive(Long bookId, boolean gzip) {
+        Book book = bookRepository.findById(bookId)
+            .orElseThrow(() -> new RuntimeException("Book not found"));
+        ArchiveHeader header = new ArchiveHeader(book.getId(), book.getTitle(), book.getAuthor(), LocalDateTime.now());
+        
+        return out -> {
+            // syncFlush so every periodic flush actually reaches the client instead of waiting in the deflater
+            GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, 64 * 1024, true) : null;
+            RowWriter writer = new RowWriter(compressed != null ? compressed : out);
+            
+            writer.write(header);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<CommentExport> comments = commentRepository.streamExportByBookId(bookId)) {
+                    writer.writeAll(comments.iterator());
+                }
+                try (Stream<AnswerExport> answers = questionAnswerRepository.streamExportByBookId(bookId)) {
+                    writer.writeAll(answers.iterator());
+                }
+            });
+            
+            if (compressed != null) {
+                compressed.finish();
+            }
+            out.flush();
+        };
+    }
+    
+    private class RowWriter {
+        private final OutputStream out;
+        private int unflushed;
+        
+        RowWriter(OutputStream out) {
+            this.out = out;
+        }
+        
+        void writeAll(Iterator<?> rows) {
+            try {
+                while (rows.hasNext()) {
+                    write(rows.next());
+                }
+            } catch (IOException e) {
+                // Usually the client went away; unwinding closes the cursor and rolls back
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        void write(Object row) throws IOException {
+            out.write(jsonMapper.writeValueAsBytes(row));
+            out.write('\n');
+            if (++unflushed == FLUSH_EVERY_ROWS) {
+                out.flush();
+                unflushed = 0;
+            }
+        }
+    }
+}
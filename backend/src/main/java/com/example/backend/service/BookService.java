@@ -1,47 +1,243 @@
 package com.example.backend.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.backend.dto.BookDetail;
+import com.example.backend.dto.BookImport;
+import com.example.backend.dto.BookOutline;
+import com.example.backend.dto.BookRequest;
+import com.example.backend.dto.ChapterImport;
+import com.example.backend.dto.ChapterOutline;
+import com.example.backend.dto.OutlineRow;
+import com.example.backend.dto.WeekDetail;
+import com.example.backend.dto.WeekImport;
+import com.example.backend.dto.WeekOutline;
+import com.example.backend.event.ContentChangedEvent;
+import com.example.backend.event.ContentTags;
 import com.example.backend.model.Book;
+import com.example.backend.model.Chapter;
 import com.example.backend.model.Week;
+import com.example.backend.model.WeeklyQuestion;
 import com.example.backend.repository.BookRepository;
+import com.example.backend.repository.ChapterRepository;
+import com.example.backend.repository.CommentRepository;
 import com.example.backend.repository.WeekRepository;
+import com.example.backend.repository.WeeklyQuestionRepository;
 
 @Service
 public class BookService {
+    private static final int MAX_ACTIVATION_ATTEMPTS = 3;
+    
     @Autowired
     private BookRepository bookRepository;
     
     @Autowired
     private WeekRepository weekRepository;
     
-    public Book getCurrentBook() {
-        return bookRepository.findByIsActiveTrue()
+    @Autowired
+    private ChapterRepository chapterRepository;
+    
+    @Autowired
+    private CommentRepository commentRepository;
+    
+    @Autowired
+    private WeeklyQuestionRepository weeklyQuestionRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Transactional(readOnly = true)
+    public BookDetail getCurrentBook() {
+        BookDetail book = findCurrentBook();
+        book.weeks().addAll(getWeeksForBook(book.id()));
+        return book;
+    }
+    
+    public BookOutline getCurrentBookOutline() {
+        BookDetail book = findCurrentBook();
+        
+        // Rows arrive ordered by week then chapter, so weeks keep their schedule order
+        Map<Long, WeekOutline> weeks = new LinkedHashMap<>();
+        for (OutlineRow row : weekRepository.findOutlineRowsByBookId(book.id())) {
+            WeekOutline week = weeks.computeIfAbsent(row.weekId(), id -> new WeekOutline(
+                id, row.weekNumber(), row.weekTitle(), row.startDate(), row.endDate(), new ArrayList<>()));
+            if (row.chapterId() != null) {
+                week.chapters().add(new ChapterOutline(
+                    row.chapterId(), row.chapterNumber(), row.chapterTitle(), row.commentCount()));
+            }
+        }
+        
+        return new BookOutline(book.id(), book.title(), book.author(), book.totalChapters(),
+            new ArrayList<>(weeks.values()));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<WeekDetail> getWeeksForBook(Long bookId) {
+        return DetailGraphs.withChapters(weekRepository.findDetailsByBookId(bookId),
+            DetailGraphs.withComments(chapterRepository.findDetailsByBookId(bookId),
+                commentRepository.findDetailsByBookId(bookId)));
+    }
+    
+    private BookDetail findCurrentBook() {
+        return bookRepository.findCurrentDetail()
             .orElseThrow(() -> new RuntimeException("No active book found"));
     }
     
-    public List<Week> getWeeksForBook(Long bookId) {
-        return weekRepository.findByBookIdOrderByWeekNumber(bookId);
+    public String getCurrentBookStamp() {
+        return bookRepository.findCurrentBookStamp();
     }
     
-    public Book createBook(Book book) {
-        return bookRepository.save(book);
+    public String getCurrentBookOutlineStamp() {
+        return bookRepository.findCurrentOutlineStamp();
     }
     
-    public void setActiveBook(Long bookId) {
-        // Deactivate all books
-        bookRepository.findAll().forEach(b -> {
-            b.setIsActive(false);
-            bookRepository.save(b);
+    public String getWeeksForBookStamp(Long bookId) {
+        return weekRepository.findBookWeeksStamp(bookId);
+    }
+    
+    public BookDetail createBook(BookRequest request) {
+        boolean activate = !Boolean.FALSE.equals(request.isActive());
+        Book saved = insert(() -> {
+            Book book = new Book();
+            book.setTitle(request.title());
+            book.setAuthor(request.author());
+            book.setTotalChapters(request.totalChapters());
+            book.setIsActive(false);
+            return bookRepository.save(book);
+        }, activate);
+        // The switch is a bulk update, so the saved instance still reads inactive
+        saved.setIsActive(activate);
+        return BookDetail.from(saved);
+    }
+    
+    public BookOutline importBook(BookImport bookImport) {
+        if (bookImport.title() == null || bookImport.title().isBlank()) {
+            throw new RuntimeException("Book title is required");
+        }
+        boolean activate = !Boolean.FALSE.equals(bookImport.isActive());
+        
+        // The whole schedule goes in one transaction; with sequence ids the inserts are deferred to
+        // the flush, where each table is written in JDBC batches instead of a round trip per row
+        Book book = insert(() -> {
+            List<WeeklyQuestion> questions = new ArrayList<>();
+            Book saved = bookRepository.save(toBook(bookImport, questions));
+            weeklyQuestionRepository.saveAll(questions);
+            return saved;
+        }, activate);
+        return toOutline(book);
+    }
+    
+    // Saves a new, inactive book and, if asked, switches to it in the same transaction, so the single-active
+    // index never sees two books and an activation that gives up leaves no stray inactive book behind
+    private Book insert(Supplier<Book> save, boolean activate) {
+        if (!activate) {
+            return transactionTemplate.execute(status -> save.get());
+        }
+        return activating(() -> {
+            Book saved = save.get();
+            activate(saved.getId());
+            return saved;
         });
+    }
+    
+    private Book toBook(BookImport bookImport, List<WeeklyQuestion> questions) {
+        Book book = new Book();
+        book.setTitle(bookImport.title());
+        book.setAuthor(bookImport.author());
+        book.setIsActive(false);
         
-        // Activate selected book
-        Book book = bookRepository.findById(bookId)
-            .orElseThrow(() -> new RuntimeException("Book not found"));
-        book.setIsActive(true);
-        bookRepository.save(book);
+        int totalChapters = 0;
+        for (WeekImport weekImport : nullToEmpty(bookImport.weeks())) {
+            Week week = new Week();
+            week.setBook(book);
+            week.setWeekNumber(weekImport.weekNumber());
+            week.setTitle(weekImport.title());
+            week.setStartDate(weekImport.startDate());
+            week.setEndDate(weekImport.endDate());
+            book.getWeeks().add(week);
+            
+            for (ChapterImport chapterImport : nullToEmpty(weekImport.chapters())) {
+                Chapter chapter = new Chapter();
+                chapter.setWeek(week);
+                chapter.setChapterNumber(chapterImport.chapterNumber());
+                chapter.setTitle(chapterImport.title());
+                week.getChapters().add(chapter);
+                totalChapters++;
+            }
+            
+            for (String text : nullToEmpty(weekImport.questions())) {
+                WeeklyQuestion question = new WeeklyQuestion();
+                question.setWeek(week);
+                question.setQuestion(text);
+                questions.add(question);
+            }
+        }
+        book.setTotalChapters(totalChapters);
+        return book;
+    }
+    
+    private BookOutline toOutline(Book book) {
+        List<WeekOutline> weeks = new ArrayList<>();
+        for (Week week : book.getWeeks()) {
+            List<ChapterOutline> chapters = new ArrayList<>();
+            for (Chapter chapter : week.getChapters()) {
+                chapters.add(new ChapterOutline(chapter.getId(), chapter.getChapterNumber(), chapter.getTitle(), 0L));
+            }
+            weeks.add(new WeekOutline(week.getId(), week.getWeekNumber(), week.getTitle(),
+                week.getStartDate(), week.getEndDate(), chapters));
+        }
+        return new BookOutline(book.getId(), book.getTitle(), book.getAuthor(), book.getTotalChapters(), weeks);
+    }
+    
+    private static <T> List<T> nullToEmpty(List<T> items) {
+        return items == null ? List.of() : items;
+    }
+    
+    public void setActiveBook(Long bookId) {
+        activating(() -> {
+            activate(bookId);
+            return bookId;
+        });
+    }
+    
+    // Runs work that ends with an activation in one transaction. A concurrent activation may commit first and
+    // trip uk_books_single_active; the whole work is then retried, and the fresh transaction sees that commit
+    // and deactivates the winner instead.
+    private <T> T activating(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> work.get());
+                eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.CURRENT_BOOK));
+                return result;
+            } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+                if (attempt == MAX_ACTIVATION_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private void activate(Long bookId) {
+        // Two statements rather than one CASE update: PostgreSQL checks a non-deferrable
+        // unique index row by row, so a single pass could briefly hold two active rows
+        bookRepository.deactivateAllExcept(bookId);
+        if (bookRepository.activate(bookId) == 0) {
+            throw new RuntimeException("Book not found");
+        }
     }
 }
\ No newline at end of file
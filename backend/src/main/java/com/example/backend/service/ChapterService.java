@@ -3,10 +3,17 @@ package com.example.backend.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.backend.dto.ChapterDetail;
+import com.example.backend.dto.ChapterRequest;
+import com.example.backend.event.ContentChangedEvent;
+import com.example.backend.event.ContentTags;
 import com.example.backend.model.Chapter;
 import com.example.backend.repository.ChapterRepository;
+import com.example.backend.repository.CommentRepository;
 import com.example.backend.repository.WeekRepository;
 
 @Service
@@ -17,32 +24,64 @@ public class ChapterService {
     @Autowired
     private WeekRepository weekRepository;
     
-    public Chapter createChapter(Chapter chapter) {
-        // Validate week exists
-        weekRepository.findById(chapter.getWeek().getId())
-            .orElseThrow(() -> new RuntimeException("Week not found"));
-        
-        return chapterRepository.save(chapter);
+    @Autowired
+    private CommentRepository commentRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Transactional
+    public ChapterDetail createChapter(ChapterRequest request) {
+        // Attached by id only; a missing week fails the foreign key (404 via DataIntegrityAdvice)
+        Chapter chapter = new Chapter();
+        chapter.setWeek(weekRepository.getReferenceById(request.week().id()));
+        chapter.setChapterNumber(request.chapterNumber());
+        chapter.setTitle(request.title());
+        ChapterDetail saved = ChapterDetail.from(chapterRepository.save(chapter), 0);
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.week(saved.weekId())));
+        return saved;
     }
     
-    public Chapter getChapterById(Long id) {
-        return chapterRepository.findById(id)
+    @Transactional(readOnly = true)
+    public ChapterDetail getChapterById(Long id) {
+        ChapterDetail chapter = chapterRepository.findDetailById(id)
             .orElseThrow(() -> new RuntimeException("Chapter not found"));
+        chapter.comments().addAll(commentRepository.findDetailsByChapterId(id));
+        return chapter;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ChapterDetail> getChaptersByWeek(Long weekId) {
+        return DetailGraphs.withComments(chapterRepository.findDetailsByWeekId(weekId),
+            commentRepository.findDetailsByWeekId(weekId));
     }
     
-    public List<Chapter> getChaptersByWeek(Long weekId) {
-        return chapterRepository.findByWeekIdOrderByChapterNumber(weekId);
+    public String getChapterStamp(Long id) {
+        return chapterRepository.findChapterStamp(id);
     }
     
-    public Chapter updateChapter(Long id, Chapter chapterDetails) {
-        Chapter chapter = getChapterById(id);
-        chapter.setChapterNumber(chapterDetails.getChapterNumber());
-        chapter.setTitle(chapterDetails.getTitle());
-        return chapterRepository.save(chapter);
+    public String getChaptersByWeekStamp(Long weekId) {
+        return chapterRepository.findWeekChaptersStamp(weekId);
+    }
+    
+    @Transactional
+    public ChapterDetail updateChapter(Long id, ChapterRequest request) {
+        Chapter chapter = findChapter(id);
+        chapter.setChapterNumber(request.chapterNumber());
+        chapter.setTitle(request.title());
+        chapterRepository.save(chapter);
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.chapter(id)));
+        return getChapterById(id);
     }
     
     public void deleteChapter(Long id) {
-        Chapter chapter = getChapterById(id);
+        Chapter chapter = findChapter(id);
         chapterRepository.delete(chapter);
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.chapter(id)));
+    }
+    
+    private Chapter findChapter(Long id) {
+        return chapterRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Chapter not found"));
     }
 }
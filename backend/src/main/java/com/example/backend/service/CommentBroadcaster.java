@@ -0,0 +1,125 @@
+package com.example.backend.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.backend.event.CommentEvent;
+
+// Fans committed comment changes out to the SSE subscribers of each chapter.
+// Every subscriber drains its own bounded queue on a virtual thread, so an idle
+// connection costs a parked thread and a slow one only ever loses its oldest events.
+@Component
+public class CommentBroadcaster {
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    
+    @Value("${bookclub.comments.stream.queue-capacity:64}")
+    private int queueCapacity;
+    
+    @Value("${bookclub.comments.stream.timeout:PT30M}")
+    private Duration timeout;
+    
+    @Value("${bookclub.comments.stream.heartbeat:PT25S}")
+    private Duration heartbeat;
+    
+    public SseEmitter subscribe(Long chapterId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(chapterId, emitter, new ArrayBlockingQueue<>(queueCapacity));
+        subscribers.computeIfAbsent(chapterId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        
+        subscriber.drainer = Thread.ofVirtual()
+            .name("comment-stream-" + chapterId)
+            .start(() -> drain(subscriber));
+        return emitter;
+    }
+    
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCommentEvent(CommentEvent event) {
+        Set<Subscriber> chapterSubscribers = subscribers.get(event.chapterId());
+        if (chapterSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : chapterSubscribers) {
+            subscriber.offer(event);
+        }
+    }
+    
+    private void drain(Subscriber subscriber) {
+        try {
+            while (!subscriber.closed.get()) {
+                CommentEvent event = subscriber.queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    // Keeps proxies from reaping the connection and surfaces dead clients
+                    subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    Object data = event.comment() != null ? event.comment() : Map.of("id", event.commentId());
+                    subscriber.emitter.send(SseEmitter.event()
+                        .name(event.type().eventName())
+                        .id(String.valueOf(event.commentId()))
+                        .data(data));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            unsubscribe(subscriber);
+        }
+    }
+    
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.computeIfPresent(subscriber.chapterId, (id, chapterSubscribers) -> {
+            chapterSubscribers.remove(subscriber);
+            return chapterSubscribers.isEmpty() ? null : chapterSubscribers;
+        });
+        if (subscriber.drainer != null && subscriber.drainer != Thread.currentThread()) {
+            subscriber.drainer.interrupt();
+        }
+        subscriber.emitter.complete();
+    }
+    
+    private static class Subscriber {
+        private final Long chapterId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<CommentEvent> queue;
+        private volatile Thread drainer;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        
+        Subscriber(Long chapterId, SseEmitter emitter, BlockingQueue<CommentEvent> queue) {
+            this.chapterId = chapterId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+        
+        void offer(CommentEvent event) {
+            // Drop-oldest: a full queue gives up its stalest event rather than blocking the publisher
+            while (!queue.offer(event)) {
+                queue.poll();
+            }
+        }
+    }
+}
@@ -1,17 +1,32 @@
 package com.example.backend.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.backend.dto.CommentCursor;
+import com.example.backend.dto.CommentDetail;
+import com.example.backend.dto.CommentPage;
+import com.example.backend.dto.CommentRequest;
+import com.example.backend.dto.InsertedComment;
+import com.example.backend.event.CommentEvent;
+import com.example.backend.event.ContentChangedEvent;
+import com.example.backend.event.ContentTags;
 import com.example.backend.model.Comment;
 import com.example.backend.repository.ChapterRepository;
 import com.example.backend.repository.CommentRepository;
-import com.example.backend.repository.UserRepository;
 
 @Service
 public class CommentService {
+    private static final int MAX_PAGE_SIZE = 100;
+    
     @Autowired
     private CommentRepository commentRepository;
     
@@ -19,37 +34,85 @@ public class CommentService {
     private ChapterRepository chapterRepository;
     
     @Autowired
-    private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Transactional
+    public CommentDetail createComment(CommentRequest request) {
+        // A missing chapter or user fails the foreign keys (404 via DataIntegrityAdvice)
+        InsertedComment inserted = commentRepository.insert(request.chapter().id(), request.user().id(),
+            request.content(), LocalDateTime.now());
+        CommentDetail saved = new CommentDetail(inserted.getId(), inserted.getChapterId(), inserted.getUserId(),
+            inserted.getUsername(), inserted.getContent(), inserted.getCreatedAt(), inserted.getUpdatedAt());
+        eventPublisher.publishEvent(new CommentEvent(
+            CommentEvent.Type.CREATED, saved.chapterId(), saved.id(), saved));
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.chapter(saved.chapterId())));
+        return saved;
+    }
     
-    public Comment createComment(Comment comment) {
-        // Validate chapter exists
-        chapterRepository.findById(comment.getChapter().getId())
-            .orElseThrow(() -> new RuntimeException("Chapter not found"));
+    public List<CommentDetail> getCommentsByChapter(Long chapterId) {
+        return commentRepository.findDetailsByChapterId(chapterId);
+    }
+    
+    public CommentPage getCommentPage(Long chapterId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists
+        Pageable window = PageRequest.ofSize(pageSize + 1);
         
-        // Validate user exists
-        userRepository.findById(comment.getUser().getId())
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        List<CommentDetail> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = commentRepository.findFirstPageByChapterId(chapterId, window);
+        } else {
+            CommentCursor position = CommentCursor.decode(cursor);
+            comments = commentRepository.findPageByChapterIdBefore(
+                chapterId, position.createdAt(), position.id(), window);
+        }
         
-        return commentRepository.save(comment);
+        if (comments.size() <= pageSize) {
+            return new CommentPage(comments, null);
+        }
+        List<CommentDetail> page = new ArrayList<>(comments.subList(0, pageSize));
+        CommentDetail last = page.get(pageSize - 1);
+        return new CommentPage(page, new CommentCursor(last.createdAt(), last.id()).encode());
     }
     
-    public List<Comment> getCommentsByChapter(Long chapterId) {
-        return commentRepository.findByChapterIdOrderByCreatedAtDesc(chapterId);
+    public CommentDetail getCommentById(Long id) {
+        return commentRepository.findDetailById(id)
+            .orElseThrow(() -> new RuntimeException("Comment not found"));
     }
     
-    public Comment getCommentById(Long id) {
-        return commentRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Comment not found"));
+    // Covers the full list and every page of it, since a page is a function of the chapter's comments and the cursor
+    public String getCommentsByChapterStamp(Long chapterId) {
+        return commentRepository.findChapterCommentsStamp(chapterId);
+    }
+    
+    public String getCommentStamp(Long id) {
+        return commentRepository.findCommentStamp(id);
     }
     
-    public Comment updateComment(Long id, String content) {
-        Comment comment = getCommentById(id);
+    @Transactional
+    public CommentDetail updateComment(Long id, String content) {
+        Comment comment = findComment(id);
         comment.setContent(content);
-        return commentRepository.save(comment);
+        // Flushed here so the auditing listener has stamped updatedAt before the detail is taken
+        CommentDetail saved = CommentDetail.from(commentRepository.saveAndFlush(comment));
+        eventPublisher.publishEvent(new CommentEvent(
+            CommentEvent.Type.UPDATED, saved.chapterId(), saved.id(), saved));
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.chapter(saved.chapterId())));
+        return saved;
     }
     
+    @Transactional
     public void deleteComment(Long id) {
-        Comment comment = getCommentById(id);
+        Comment comment = findComment(id);
         commentRepository.delete(comment);
+        chapterRepository.adjustCommentCount(comment.getChapter().getId(), -1);
+        eventPublisher.publishEvent(new CommentEvent(
+            CommentEvent.Type.DELETED, comment.getChapter().getId(), comment.getId(), null));
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.chapter(comment.getChapter().getId())));
+    }
+    
+    private Comment findComment(Long id) {
+        return commentRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Comment not found"));
     }
 }
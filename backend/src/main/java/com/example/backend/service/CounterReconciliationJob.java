@@ -0,0 +1,41 @@
+package com.example.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.event.ContentChangedEvent;
+import com.example.backend.event.ContentTags;
+import com.example.backend.repository.ChapterRepository;
+import com.example.backend.repository.WeeklyQuestionRepository;
+
+// Repairs counter drift from writes that bypassed the services (manual SQL, cascades)
+@Component
+public class CounterReconciliationJob {
+    private static final Logger log = LoggerFactory.getLogger(CounterReconciliationJob.class);
+    
+    @Autowired
+    private ChapterRepository chapterRepository;
+    
+    @Autowired
+    private WeeklyQuestionRepository weeklyQuestionRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Scheduled(initialDelayString = "${bookclub.counters.reconcile-initial-delay:PT1M}",
+               fixedDelayString = "${bookclub.counters.reconcile-interval:PT1H}")
+    @Transactional
+    public void reconcile() {
+        int chapters = chapterRepository.reconcileCommentCounts();
+        int questions = weeklyQuestionRepository.reconcileAnswerCounts();
+        if (chapters > 0 || questions > 0) {
+            log.warn("Repaired counter drift on {} chapters and {} questions", chapters, questions);
+            eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.ALL));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.backend.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.backend.dto.ChapterDetail;
+import com.example.backend.dto.CommentDetail;
+import com.example.backend.dto.WeekDetail;
+
+// Nests flat projection rows (one query per level) into the week -> chapter -> comment shape of the read
+// endpoints. Children keep the order their query returned them in.
+final class DetailGraphs {
+    private DetailGraphs() {
+    }
+    
+    static List<WeekDetail> withChapters(List<WeekDetail> weeks, List<ChapterDetail> chapters) {
+        Map<Long, WeekDetail> byId = new HashMap<>();
+        weeks.forEach(week -> byId.put(week.id(), week));
+        for (ChapterDetail chapter : chapters) {
+            WeekDetail week = byId.get(chapter.weekId());
+            if (week != null) {
+                week.chapters().add(chapter);
+            }
+        }
+        return weeks;
+    }
+    
+    static List<ChapterDetail> withComments(List<ChapterDetail> chapters, List<CommentDetail> comments) {
+        Map<Long, ChapterDetail> byId = new HashMap<>();
+        chapters.forEach(chapter -> byId.put(chapter.id(), chapter));
+        for (CommentDetail comment : comments) {
+            ChapterDetail chapter = byId.get(comment.chapterId());
+            if (chapter != null) {
+                chapter.comments().add(comment);
+            }
+        }
+        return chapters;
+    }
+}
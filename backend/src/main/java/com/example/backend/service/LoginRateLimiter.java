@@ -0,0 +1,74 @@
+package com.example.backend.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+// Token buckets per username and per client address, checked before any hashing work
+@Component
+public class LoginRateLimiter {
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    
+    @Value("${bookclub.auth.rate-limit.capacity:10}")
+    private int capacity;
+    
+    @Value("${bookclub.auth.rate-limit.refill-per-minute:10}")
+    private int refillPerMinute;
+    
+    public void acquire(String username, String clientAddress) {
+        // Check both buckets so one cannot be drained while the other is rejecting
+        boolean userAllowed = bucket("user:" + username).tryConsume();
+        boolean addressAllowed = bucket("ip:" + clientAddress).tryConsume();
+        if (!userAllowed || !addressAllowed) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts, please wait");
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${bookclub.auth.rate-limit.sweep-interval:PT5M}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+    
+    private TokenBucket bucket(String key) {
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerMinute / 60.0));
+    }
+    
+    private static class TokenBucket {
+        private final int capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefill;
+        
+        TokenBucket(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerSecond / 1_000_000_000.0;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+        
+        synchronized boolean tryConsume() {
+            refill(System.nanoTime());
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+        
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+        
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.backend.service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Runs BCrypt on a small dedicated pool so a login burst can only ever occupy
+// that many cores; once the queue is full callers get an immediate 503.
+@Service
+public class PasswordHashingService {
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${bookclub.auth.hashing.threads:0}")
+    private int threads;
+    
+    @Value("${bookclub.auth.hashing.queue-capacity:32}")
+    private int queueCapacity;
+    
+    @Value("${bookclub.auth.hashing.timeout:PT5S}")
+    private Duration timeout;
+    
+    private ThreadPoolExecutor executor;
+    
+    @PostConstruct
+    void start() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        meterRegistry.gauge("bookclub.auth.bcrypt.queued", executor, pool -> pool.getQueue().size());
+    }
+    
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+    
+    public String encode(String rawPassword) {
+        return submit("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+    
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+    
+    // True when the stored hash was made with a lower cost than the current calibration
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+    
+    private <T> T submit(String operation, Callable<T> task) {
+        // Times the hash itself; queueing shows up in the request latency and the gauge above
+        Timer timer = meterRegistry.timer("bookclub.auth.bcrypt", "operation", operation);
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("bookclub.auth.bcrypt.rejected", "reason", "queue-full").increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Authentication is busy, please retry");
+        }
+        
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            meterRegistry.counter("bookclub.auth.bcrypt.rejected", "reason", "timeout").increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Authentication is busy, please retry");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.backend.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Holds the latest progress marker per reader and writes them all in one statement per tick,
+// so tapping through chapters costs a map write instead of a transaction per click
+@Component
+public class ProgressWriteBuffer {
+    private static final Logger log = LoggerFactory.getLogger(ProgressWriteBuffer.class);
+    
+    // Leaves users.version alone: progress is in none of the ETag-stamped responses
+    private static final String FLUSH_SQL = """
+        update users u set current_chapter = p.chapter
+        from unnest(?::bigint[], ?::int[]) as p(id, chapter)
+        where u.id = p.id
+        """;
+    
+    private final Map<Long, Integer> pending = new ConcurrentHashMap<>();
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Counter recorded;
+    private Counter coalesced;
+    private Counter written;
+    private Counter failures;
+    private Timer flushTimer;
+    
+    @PostConstruct
+    void registerMeters() {
+        recorded = meterRegistry.counter("bookclub.progress.updates");
+        coalesced = meterRegistry.counter("bookclub.progress.coalesced");
+        written = meterRegistry.counter("bookclub.progress.flushed");
+        failures = meterRegistry.counter("bookclub.progress.flush.failures");
+        flushTimer = meterRegistry.timer("bookclub.progress.flush");
+        meterRegistry.gauge("bookclub.progress.pending", pending, Map::size);
+    }
+    
+    public void record(Long userId, Integer currentChapter) {
+        recorded.increment();
+        if (pending.put(userId, currentChapter) != null) {
+            coalesced.increment();
+        }
+    }
+    
+    // The buffered marker not yet written to users, or null
+    public Integer pendingChapter(Long userId) {
+        return pending.get(userId);
+    }
+    
+    public void discard(Long userId) {
+        pending.remove(userId);
+    }
+    
+    @Scheduled(fixedDelayString = "${bookclub.progress.flush-interval:PT0.25S}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> batch = new HashMap<>(pending);
+        Long[] ids = batch.keySet().toArray(new Long[0]);
+        Integer[] chapters = new Integer[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            chapters[i] = batch.get(ids[i]);
+        }
+        
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            jdbcTemplate.update(FLUSH_SQL, statement -> {
+                statement.setArray(1, statement.getConnection().createArrayOf("bigint", ids));
+                statement.setArray(2, statement.getConnection().createArrayOf("integer", chapters));
+            });
+        } catch (DataAccessException e) {
+            // Everything stays buffered and goes out with the next tick
+            failures.increment();
+            log.warn("Failed to flush progress for {} readers", batch.size(), e);
+            return;
+        } finally {
+            sample.stop(flushTimer);
+        }
+        
+        // A reader who moved again while the statement ran keeps the newer value for the next tick
+        batch.forEach((id, chapter) -> pending.remove(id, chapter));
+        written.increment(batch.size());
+        Cache readerProgress = cacheManager.getCache(UserService.READER_PROGRESS_CACHE);
+        if (readerProgress != null) {
+            readerProgress.clear();
+        }
+    }
+    
+    @PreDestroy
+    void drain() {
+        flush();
+    }
+}
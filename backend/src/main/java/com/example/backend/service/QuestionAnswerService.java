@@ -1,13 +1,21 @@
 package com.example.backend.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.backend.dto.AnswerDetail;
+import com.example.backend.dto.AnswerRequest;
+import com.example.backend.dto.AnswerUpsert;
+import com.example.backend.event.AnswerEvent;
+import com.example.backend.event.ContentChangedEvent;
+import com.example.backend.event.ContentTags;
 import com.example.backend.model.QuestionAnswer;
 import com.example.backend.repository.QuestionAnswerRepository;
-import com.example.backend.repository.UserRepository;
 import com.example.backend.repository.WeeklyQuestionRepository;
 
 @Service
@@ -19,37 +27,52 @@ public class QuestionAnswerService {
     private WeeklyQuestionRepository weeklyQuestionRepository;
     
     @Autowired
-    private UserRepository userRepository;
-    
-    public QuestionAnswer createAnswer(QuestionAnswer answer) {
-        // Validate question exists
-        weeklyQuestionRepository.findById(answer.getQuestion().getId())
-            .orElseThrow(() -> new RuntimeException("Question not found"));
-        
-        // Validate user exists
-        userRepository.findById(answer.getUser().getId())
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        return questionAnswerRepository.save(answer);
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Transactional
+    public AnswerDetail createAnswer(AnswerRequest request) {
+        // A missing question or user fails the foreign keys (404 via DataIntegrityAdvice)
+        AnswerUpsert saved = questionAnswerRepository.upsert(request.question().id(), request.user().id(),
+            request.answer(), LocalDateTime.now());
+        AnswerEvent.Type type = saved.getInserted() ? AnswerEvent.Type.CREATED : AnswerEvent.Type.UPDATED;
+        eventPublisher.publishEvent(new AnswerEvent(type, saved.getQuestionId(), saved.getId()));
+        if (saved.getInserted()) {
+            // Only the answer count shows up in cached responses
+            eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.question(saved.getQuestionId())));
+        }
+        return new AnswerDetail(saved.getId(), saved.getQuestionId(), saved.getUserId(), saved.getUsername(),
+            saved.getAnswer(), saved.getCreatedAt());
     }
     
-    public List<QuestionAnswer> getAnswersByQuestion(Long questionId) {
-        return questionAnswerRepository.findByQuestionId(questionId);
+    public List<AnswerDetail> getAnswersByQuestion(Long questionId) {
+        return questionAnswerRepository.findDetailsByQuestionId(questionId);
     }
     
-    public QuestionAnswer getAnswerById(Long id) {
-        return questionAnswerRepository.findById(id)
+    public AnswerDetail getAnswerById(Long id) {
+        return questionAnswerRepository.findDetailById(id)
             .orElseThrow(() -> new RuntimeException("Answer not found"));
     }
     
-    public QuestionAnswer updateAnswer(Long id, String answerText) {
-        QuestionAnswer answer = getAnswerById(id);
+    @Transactional
+    public AnswerDetail updateAnswer(Long id, String answerText) {
+        QuestionAnswer answer = findAnswer(id);
         answer.setAnswer(answerText);
-        return questionAnswerRepository.save(answer);
+        QuestionAnswer saved = questionAnswerRepository.save(answer);
+        eventPublisher.publishEvent(new AnswerEvent(AnswerEvent.Type.UPDATED, saved.getQuestion().getId(), saved.getId()));
+        return AnswerDetail.from(saved);
     }
     
+    @Transactional
     public void deleteAnswer(Long id) {
-        QuestionAnswer answer = getAnswerById(id);
+        QuestionAnswer answer = findAnswer(id);
         questionAnswerRepository.delete(answer);
+        weeklyQuestionRepository.adjustAnswerCount(answer.getQuestion().getId(), -1);
+        eventPublisher.publishEvent(new AnswerEvent(AnswerEvent.Type.DELETED, answer.getQuestion().getId(), answer.getId()));
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.question(answer.getQuestion().getId())));
+    }
+    
+    private QuestionAnswer findAnswer(Long id) {
+        return questionAnswerRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Answer not found"));
     }
 }
@@ -0,0 +1,203 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import com.example.backend.dto.SearchDocument;
+import com.example.backend.dto.SearchHit;
+
+// In-memory inverted index over comment and answer text, ranked with BM25. Terms are kept sorted so a
+// trailing "*" expands to every term with that prefix. Queries share a read lock; writes touch one
+// document and hold the write lock only for that.
+class SearchIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int SNIPPET_LENGTH = 200;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    
+    private record Entry(SearchDocument document, String snippet, Map<String, Integer> termCounts, int length) {
+    }
+    
+    private record QueryTerm(String text, boolean prefix) {
+    }
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Document key ("comment:12") -> entry, and term -> (document key -> occurrences)
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final NavigableMap<String, Map<String, Integer>> postings = new TreeMap<>();
+    private long totalLength;
+    
+    static String key(String type, Long id) {
+        return type + ":" + id;
+    }
+    
+    void put(SearchDocument document) {
+        String key = key(document.type(), document.id());
+        Map<String, Integer> termCounts = new HashMap<>();
+        for (String term : tokenize(document.text())) {
+            termCounts.merge(term, 1, Integer::sum);
+        }
+        int length = termCounts.values().stream().mapToInt(Integer::intValue).sum();
+        Entry entry = new Entry(document, snippet(document.text()), termCounts, length);
+        
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            entries.put(key, entry);
+            termCounts.forEach((term, count) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, count));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void remove(String type, Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key(type, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    List<SearchHit> search(String query, Long bookId, Long weekId, Long chapterId, int limit) {
+        List<QueryTerm> terms = parse(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        
+        lock.readLock().lock();
+        try {
+            if (entries.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / entries.size();
+            
+            Map<String, Double> scores = new HashMap<>();
+            for (QueryTerm term : terms) {
+                // A prefix term scores each document by its best-matching expansion, not the sum of them
+                Map<String, Double> termScores = new HashMap<>();
+                for (Map.Entry<String, Map<String, Integer>> posting : matching(term)) {
+                    double idf = Math.log(1 + (entries.size() - posting.getValue().size() + 0.5) / (posting.getValue().size() + 0.5));
+                    posting.getValue().forEach((key, count) -> {
+                        Entry entry = entries.get(key);
+                        if (!matchesFilters(entry.document(), bookId, weekId, chapterId)) {
+                            return;
+                        }
+                        double norm = K1 * (1 - B + B * entry.length() / averageLength);
+                        termScores.merge(key, idf * count * (K1 + 1) / (count + norm), Math::max);
+                    });
+                }
+                termScores.forEach((key, score) -> scores.merge(key, score, Double::sum));
+            }
+            
+            // Keep only the best `limit` documents rather than sorting every match
+            PriorityQueue<Map.Entry<String, Double>> best = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<String, Double> scored : scores.entrySet()) {
+                best.offer(scored);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<Map.Entry<String, Double>> ranked = new ArrayList<>(best);
+            ranked.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()));
+            
+            List<SearchHit> hits = new ArrayList<>(ranked.size());
+            for (Map.Entry<String, Double> scored : ranked) {
+                Entry entry = entries.get(scored.getKey());
+                SearchDocument document = entry.document();
+                hits.add(new SearchHit(document.type(), document.id(), document.bookId(), document.weekId(),
+                    document.chapterId(), document.questionId(), document.question(), entry.snippet(),
+                    document.username(), document.createdAt(), scored.getValue()));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void removeLocked(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        totalLength -= entry.length();
+        for (String term : entry.termCounts().keySet()) {
+            Map<String, Integer> documents = postings.get(term);
+            documents.remove(key);
+            if (documents.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+    
+    private Iterable<Map.Entry<String, Map<String, Integer>>> matching(QueryTerm term) {
+        if (!term.prefix()) {
+            Map<String, Integer> documents = postings.get(term.text());
+            return documents == null ? List.of() : List.of(Map.entry(term.text(), documents));
+        }
+        return postings.subMap(term.text(), true, term.text() + Character.MAX_VALUE, false)
+            .entrySet()
+            .stream()
+            .limit(MAX_PREFIX_EXPANSIONS)
+            .toList();
+    }
+    
+    private static boolean matchesFilters(SearchDocument document, Long bookId, Long weekId, Long chapterId) {
+        return (bookId == null || bookId.equals(document.bookId()))
+            && (weekId == null || weekId.equals(document.weekId()))
+            && (chapterId == null || chapterId.equals(document.chapterId()));
+    }
+    
+    // "lighthouse keep*" -> lighthouse, keep (prefix)
+    private static List<QueryTerm> parse(String query) {
+        List<QueryTerm> terms = new ArrayList<>();
+        for (String word : query.trim().split("\\s+")) {
+            boolean prefix = word.endsWith("*");
+            List<String> tokens = tokenize(word);
+            for (int i = 0; i < tokens.size(); i++) {
+                terms.add(new QueryTerm(tokens.get(i), prefix && i == tokens.size() - 1));
+            }
+        }
+        return terms;
+    }
+    
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : NON_WORD.split(text.toLowerCase())) {
+            if (token.length() > 1) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+    
+    private static String snippet(String text) {
+        if (text == null || text.length() <= SNIPPET_LENGTH) {
+            return text;
+        }
+        return text.substring(0, SNIPPET_LENGTH) + "…";
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.backend.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.backend.dto.SearchDocument;
+import com.example.backend.dto.SearchHit;
+import com.example.backend.event.AnswerEvent;
+import com.example.backend.event.CommentEvent;
+import com.example.backend.repository.CommentRepository;
+import com.example.backend.repository.QuestionAnswerRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+// Owns the search index: builds it from the database once the app is up, keeps it current from committed
+// comment and answer writes, and rebuilds it periodically to drop rows removed by cascading deletes
+// (a chapter or question taking its discussion with it publishes no per-row events).
+@Service
+public class SearchIndexer {
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexer.class);
+    private static final int MAX_RESULTS = 100;
+    
+    @Autowired
+    private CommentRepository commentRepository;
+    
+    @Autowired
+    private QuestionAnswerRepository questionAnswerRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private TransactionTemplate readOnlyTransaction;
+    private Counter rebuildFailures;
+    private volatile SearchIndex index = new SearchIndex();
+    
+    // Documents written while a rebuild is reading the tables; re-read from the database once it is swapped in
+    private final Map<String, Long> touchedDuringRebuild = new ConcurrentHashMap<>();
+    private volatile boolean rebuilding;
+    
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        rebuildFailures = meterRegistry.counter("bookclub.search.rebuild.failures");
+    }
+    
+    public List<SearchHit> search(String query, Long bookId, Long weekId, Long chapterId, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query is required");
+        }
+        return index.search(query, bookId, weekId, chapterId, Math.max(1, Math.min(limit, MAX_RESULTS)));
+    }
+    
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+    
+    @Scheduled(initialDelayString = "${bookclub.search.rebuild-interval:PT6H}",
+               fixedDelayString = "${bookclub.search.rebuild-interval:PT6H}")
+    // A failed rebuild is logged and counted rather than thrown, as neither the scheduler nor the async startup
+    // call has anyone to report to. Writes made meanwhile were applied to the live index too, so it stays current.
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        rebuilding = true;
+        touchedDuringRebuild.clear();
+        try {
+            SearchIndex fresh = new SearchIndex();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<SearchDocument> comments = commentRepository.streamSearchDocuments()) {
+                    comments.forEach(fresh::put);
+                }
+                try (Stream<SearchDocument> answers = questionAnswerRepository.streamSearchDocuments()) {
+                    answers.forEach(fresh::put);
+                }
+            });
+            
+            index = fresh;
+            rebuilding = false;
+            Set<Map.Entry<String, Long>> touched = Set.copyOf(touchedDuringRebuild.entrySet());
+            touched.forEach(entry -> refresh(entry.getKey().substring(0, entry.getKey().indexOf(':')), entry.getValue()));
+            
+            log.info("Search index built with {} documents in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            rebuildFailures.increment();
+            log.error("Search index rebuild failed after {} ms; still serving {} documents",
+                (System.nanoTime() - start) / 1_000_000, index.size(), e);
+        } finally {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCommentEvent(CommentEvent event) {
+        if (event.type() == CommentEvent.Type.DELETED) {
+            remove("comment", event.commentId());
+        } else {
+            refresh("comment", event.commentId());
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAnswerEvent(AnswerEvent event) {
+        if (event.type() == AnswerEvent.Type.DELETED) {
+            remove("answer", event.answerId());
+        } else {
+            refresh("answer", event.answerId());
+        }
+    }
+    
+    // Re-reads one document so the index holds its committed state, or drops it if it is gone
+    private void refresh(String type, Long id) {
+        track(type, id);
+        Optional<SearchDocument> document = "comment".equals(type)
+            ? commentRepository.findSearchDocumentById(id)
+            : questionAnswerRepository.findSearchDocumentById(id);
+        document.ifPresentOrElse(index::put, () -> index.remove(type, id));
+    }
+    
+    private void remove(String type, Long id) {
+        track(type, id);
+        index.remove(type, id);
+    }
+    
+    private void track(String type, Long id) {
+        if (rebuilding) {
+            touchedDuringRebuild.put(SearchIndex.key(type, id), id);
+        }
+    }
+}
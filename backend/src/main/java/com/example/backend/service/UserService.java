@@ -1,96 +1,182 @@
 package com.example.backend.service;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.example.backend.dto.ProgressSummary;
+import com.example.backend.dto.ReaderProgress;
+import com.example.backend.dto.UserDetail;
+import com.example.backend.dto.UserRequest;
+import com.example.backend.event.ContentChangedEvent;
+import com.example.backend.event.ContentTags;
 import com.example.backend.model.User;
 import com.example.backend.repository.UserRepository;
 
 @Service
 public class UserService {
+    public static final String READER_PROGRESS_CACHE = "readerProgress";
+    
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+    
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+    
+    @Autowired
+    private ProgressWriteBuffer progressWriteBuffer;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
-    public User createUser(User user) {
-        if (userRepository.existsByUsername(user.getUsername())) {
+    @CacheEvict(value = READER_PROGRESS_CACHE, allEntries = true)
+    public User createUser(UserRequest request) {
+        if (userRepository.existsByUsername(request.username())) {
             throw new RuntimeException("Username already exists");
         }
+        User user = new User();
+        user.setUsername(request.username());
+        user.setEmail(request.email());
+        if (request.currentChapter() != null) {
+            user.setCurrentChapter(request.currentChapter());
+        }
         // Hash the password before saving
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.password()));
         return userRepository.save(user);
     }
     
-    public User authenticate(String username, String password) {
+    public User authenticate(String username, String password, String clientAddress) {
+        loginRateLimiter.acquire(username, clientAddress);
+        
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new RuntimeException("Invalid username or password"));
         
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordHashingService.matches(password, user.getPassword())) {
             throw new RuntimeException("Invalid username or password");
         }
         
+        // Transparently move old hashes up to the currently calibrated cost
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashingService.encode(password));
+            userRepository.updatePassword(user.getId(), user.getPassword());
+        }
+        
+        Integer bufferedChapter = progressWriteBuffer.pendingChapter(user.getId());
+        if (bufferedChapter != null) {
+            user.setCurrentChapter(bufferedChapter);
+        }
         return user;
     }
     
-    public Optional<User> getUserByUsername(String username) {
-        return userRepository.findByUsername(username);
+    public Optional<UserDetail> getUserByUsername(String username) {
+        return userRepository.findDetailByUsername(username).map(this::withBufferedProgress);
     }
     
-    public User getUserById(Long id) {
-        return userRepository.findById(id)
+    public UserDetail getUserById(Long id) {
+        return userRepository.findDetailById(id)
+            .map(this::withBufferedProgress)
             .orElseThrow(() -> new RuntimeException("User not found"));
     }
     
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public List<UserDetail> getAllUsers() {
+        return userRepository.findAllDetails().stream().map(this::withBufferedProgress).toList();
     }
     
-    public User updateUser(Long id, User userDetails) {
-        User user = getUserById(id);
-        user.setEmail(userDetails.getEmail());
-        user.setCurrentChapter(userDetails.getCurrentChapter());
-        return userRepository.save(user);
+    @Cacheable(READER_PROGRESS_CACHE)
+    public ProgressSummary getReaderProgress() {
+        List<ReaderProgress> readers = userRepository.findReaderProgress();
+        
+        // The histogram is folded from the same rows, so the whole summary is one query
+        Map<Integer, Long> readersPerChapter = new TreeMap<>();
+        for (ReaderProgress reader : readers) {
+            readersPerChapter.merge(reader.currentChapter(), 1L, Long::sum);
+        }
+        return new ProgressSummary(List.copyOf(readers), Collections.unmodifiableMap(readersPerChapter));
+    }
+    
+    @Transactional
+    @CacheEvict(value = READER_PROGRESS_CACHE, allEntries = true)
+    public UserDetail updateUser(Long id, UserRequest request) {
+        User user = findUser(id);
+        // The explicit value wins over a marker still waiting to be flushed
+        progressWriteBuffer.discard(id);
+        user.setEmail(request.email());
+        user.setCurrentChapter(request.currentChapter());
+        return UserDetail.from(userRepository.save(user));
     }
     
+    @Transactional
+    @CacheEvict(value = READER_PROGRESS_CACHE, allEntries = true)
     public void deleteUser(Long id) {
-        User user = getUserById(id);
+        User user = findUser(id);
+        progressWriteBuffer.discard(id);
         userRepository.delete(user);
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.user(id)));
     }
     
-    public User updateUserProgress(Long id, Integer currentChapter) {
-        User user = getUserById(id);
-        user.setCurrentChapter(currentChapter);
-        return userRepository.save(user);
+    // Acknowledged once buffered; ProgressWriteBuffer writes it and evicts the progress summary on its next flush
+    public UserDetail updateUserProgress(Long id, Integer currentChapter) {
+        if (currentChapter == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "currentChapter is required");
+        }
+        UserDetail user = userRepository.findDetailById(id)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        progressWriteBuffer.record(id, currentChapter);
+        return withBufferedProgress(user);
     }
     
-    public User updateUsername(Long id, String newUsername) {
-        User user = getUserById(id);
+    @CacheEvict(value = READER_PROGRESS_CACHE, allEntries = true)
+    public UserDetail updateUsername(Long id, String newUsername) {
+        User user = findUser(id);
         
         // Check if username already exists
         if (userRepository.existsByUsername(newUsername) && !user.getUsername().equals(newUsername)) {
             throw new RuntimeException("Username already exists");
         }
         
+        userRepository.updateUsername(id, newUsername);
         user.setUsername(newUsername);
-        return userRepository.save(user);
+        UserDetail saved = UserDetail.from(user);
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.user(id)));
+        return withBufferedProgress(saved);
     }
     
     public void updatePassword(Long id, String currentPassword, String newPassword) {
-        User user = getUserById(id);
+        User user = findUser(id);
         
         // Verify current password
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        if (!passwordHashingService.matches(currentPassword, user.getPassword())) {
             throw new RuntimeException("Current password is incorrect");
         }
         
         // Hash and save new password
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        userRepository.updatePassword(id, passwordHashingService.encode(newPassword));
+    }
+    
+    private UserDetail withBufferedProgress(UserDetail user) {
+        Integer bufferedChapter = progressWriteBuffer.pendingChapter(user.id());
+        if (bufferedChapter == null) {
+            return user;
+        }
+        return new UserDetail(user.id(), user.username(), user.email(), bufferedChapter, user.createdAt());
+    }
+    
+    private User findUser(Long id) {
+        return userRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("User not found"));
     }
 }
@@ -3,11 +3,19 @@ package com.example.backend.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.example.backend.model.Chapter;
+import com.example.backend.dto.ChapterDetail;
+import com.example.backend.dto.WeekDetail;
+import com.example.backend.dto.WeekRequest;
+import com.example.backend.event.ContentChangedEvent;
+import com.example.backend.event.ContentTags;
 import com.example.backend.model.Week;
 import com.example.backend.repository.BookRepository;
+import com.example.backend.repository.ChapterRepository;
+import com.example.backend.repository.CommentRepository;
 import com.example.backend.repository.WeekRepository;
 
 @Service
@@ -18,39 +26,83 @@ public class WeekService {
     @Autowired
     private BookRepository bookRepository;
     
-    public Week createWeek(Week week) {
-        // Validate book exists
-        bookRepository.findById(week.getBook().getId())
-            .orElseThrow(() -> new RuntimeException("Book not found"));
-        
-        return weekRepository.save(week);
+    @Autowired
+    private ChapterRepository chapterRepository;
+    
+    @Autowired
+    private CommentRepository commentRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Transactional
+    public WeekDetail createWeek(WeekRequest request) {
+        // Attached by id only; a missing book fails the foreign key (404 via DataIntegrityAdvice)
+        Week week = new Week();
+        week.setBook(bookRepository.getReferenceById(request.book().id()));
+        week.setWeekNumber(request.weekNumber());
+        week.setTitle(request.title());
+        week.setStartDate(request.startDate());
+        week.setEndDate(request.endDate());
+        WeekDetail saved = WeekDetail.from(weekRepository.save(week));
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.book(saved.bookId())));
+        return saved;
     }
     
-    public Week getWeekById(Long id) {
-        return weekRepository.findById(id)
+    @Transactional(readOnly = true)
+    public WeekDetail getWeekById(Long id) {
+        WeekDetail week = weekRepository.findDetailById(id)
             .orElseThrow(() -> new RuntimeException("Week not found"));
+        week.chapters().addAll(getChaptersForWeek(id));
+        return week;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<WeekDetail> getWeeksByBook(Long bookId) {
+        return DetailGraphs.withChapters(weekRepository.findDetailsByBookId(bookId),
+            DetailGraphs.withComments(chapterRepository.findDetailsByBookId(bookId),
+                commentRepository.findDetailsByBookId(bookId)));
     }
     
-    public List<Week> getWeeksByBook(Long bookId) {
-        return weekRepository.findByBookIdOrderByWeekNumber(bookId);
+    @Transactional(readOnly = true)
+    public List<ChapterDetail> getChaptersForWeek(Long weekId) {
+        return DetailGraphs.withComments(chapterRepository.findDetailsByWeekId(weekId),
+            commentRepository.findDetailsByWeekId(weekId));
     }
     
-    public List<Chapter> getChaptersForWeek(Long weekId) {
-        Week week = getWeekById(weekId);
-        return week.getChapters();
+    public String getWeekStamp(Long id) {
+        return weekRepository.findWeekStamp(id);
     }
     
-    public Week updateWeek(Long id, Week weekDetails) {
-        Week week = getWeekById(id);
-        week.setTitle(weekDetails.getTitle());
-        week.setStartDate(weekDetails.getStartDate());
-        week.setEndDate(weekDetails.getEndDate());
-        week.setWeekNumber(weekDetails.getWeekNumber());
-        return weekRepository.save(week);
+    public String getWeeksByBookStamp(Long bookId) {
+        return weekRepository.findBookWeeksStamp(bookId);
     }
     
+    public String getChaptersForWeekStamp(Long weekId) {
+        return chapterRepository.findWeekChaptersStamp(weekId);
+    }
+    
+    @Transactional
+    public WeekDetail updateWeek(Long id, WeekRequest request) {
+        Week week = findWeek(id);
+        week.setTitle(request.title());
+        week.setStartDate(request.startDate());
+        week.setEndDate(request.endDate());
+        week.setWeekNumber(request.weekNumber());
+        weekRepository.save(week);
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.week(id)));
+        return getWeekById(id);
+    }
+    
+    @Transactional
     public void deleteWeek(Long id) {
-        Week week = getWeekById(id);
+        Week week = findWeek(id);
         weekRepository.delete(week);
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.week(id)));
+    }
+    
+    private Week findWeek(Long id) {
+        return weekRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Week not found"));
     }
 }
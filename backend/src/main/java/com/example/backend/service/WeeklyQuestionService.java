@@ -3,10 +3,17 @@ package com.example.backend.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.example.backend.model.QuestionAnswer;
+import com.example.backend.dto.AnswerDetail;
+import com.example.backend.dto.QuestionDetail;
+import com.example.backend.dto.QuestionRequest;
+import com.example.backend.event.ContentChangedEvent;
+import com.example.backend.event.ContentTags;
 import com.example.backend.model.WeeklyQuestion;
+import com.example.backend.repository.QuestionAnswerRepository;
 import com.example.backend.repository.WeekRepository;
 import com.example.backend.repository.WeeklyQuestionRepository;
 
@@ -18,36 +25,67 @@ public class WeeklyQuestionService {
     @Autowired
     private WeekRepository weekRepository;
     
-    public WeeklyQuestion createQuestion(WeeklyQuestion question) {
-        // Validate week exists
-        weekRepository.findById(question.getWeek().getId())
-            .orElseThrow(() -> new RuntimeException("Week not found"));
-        
-        return weeklyQuestionRepository.save(question);
+    @Autowired
+    private QuestionAnswerRepository questionAnswerRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Transactional
+    public QuestionDetail createQuestion(QuestionRequest request) {
+        // Attached by id only; a missing week fails the foreign key (404 via DataIntegrityAdvice)
+        WeeklyQuestion question = new WeeklyQuestion();
+        question.setWeek(weekRepository.getReferenceById(request.week().id()));
+        question.setQuestion(request.question());
+        question.setAnswerCount(0L);
+        QuestionDetail saved = QuestionDetail.from(weeklyQuestionRepository.save(question));
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.week(saved.weekId())));
+        return saved;
     }
     
-    public List<WeeklyQuestion> getQuestionsByWeek(Long weekId) {
-        return weeklyQuestionRepository.findByWeekId(weekId);
+    public List<QuestionDetail> getQuestionsByWeek(Long weekId) {
+        return weeklyQuestionRepository.findDetailsByWeekId(weekId);
     }
     
-    public WeeklyQuestion getQuestionById(Long id) {
-        return weeklyQuestionRepository.findById(id)
+    public QuestionDetail getQuestionById(Long id) {
+        return weeklyQuestionRepository.findDetailById(id)
             .orElseThrow(() -> new RuntimeException("Question not found"));
     }
     
-    public List<QuestionAnswer> getAnswersForQuestion(Long questionId) {
-        WeeklyQuestion question = getQuestionById(questionId);
-        return question.getAnswers();
+    public String getQuestionsByWeekStamp(Long weekId) {
+        return weeklyQuestionRepository.findWeekQuestionsStamp(weekId);
+    }
+    
+    public String getQuestionStamp(Long id) {
+        return weeklyQuestionRepository.findQuestionStamp(id);
     }
     
-    public WeeklyQuestion updateQuestion(Long id, String questionText) {
-        WeeklyQuestion question = getQuestionById(id);
+    @Transactional(readOnly = true)
+    public List<AnswerDetail> getAnswersForQuestion(Long questionId) {
+        if (!weeklyQuestionRepository.existsById(questionId)) {
+            throw new RuntimeException("Question not found");
+        }
+        return questionAnswerRepository.findDetailsByQuestionId(questionId);
+    }
+    
+    @Transactional
+    public QuestionDetail updateQuestion(Long id, String questionText) {
+        WeeklyQuestion question = findQuestion(id);
         question.setQuestion(questionText);
-        return weeklyQuestionRepository.save(question);
+        QuestionDetail saved = QuestionDetail.from(weeklyQuestionRepository.save(question));
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.question(id)));
+        return saved;
     }
     
+    @Transactional
     public void deleteQuestion(Long id) {
-        WeeklyQuestion question = getQuestionById(id);
+        WeeklyQuestion question = findQuestion(id);
         weeklyQuestionRepository.delete(question);
+        eventPublisher.publishEvent(ContentChangedEvent.of(ContentTags.question(id)));
+    }
+    
+    private WeeklyQuestion findQuestion(Long id) {
+        return weeklyQuestionRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Question not found"));
     }
 }
@@ -0,0 +1,149 @@
+-- The schema Hibernate's ddl-auto used to derive from the entities, plus what schema.sql then applied on
+-- every startup. Databases from before migrations are baselined at version 0 and run this too, so every
+-- statement tolerates objects that already exist.
+
+CREATE SEQUENCE IF NOT EXISTS books_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS weeks_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS chapters_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS weekly_questions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username varchar(255) NOT NULL,
+    password varchar(255) NOT NULL,
+    email varchar(255) NOT NULL,
+    current_chapter integer,
+    created_at timestamp(6),
+    version bigint DEFAULT 0 NOT NULL,
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE IF NOT EXISTS books (
+    id bigint PRIMARY KEY,
+    title varchar(255) NOT NULL,
+    author varchar(255),
+    total_chapters integer,
+    is_active boolean,
+    created_at timestamp(6),
+    version bigint DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS weeks (
+    id bigint PRIMARY KEY,
+    book_id bigint CONSTRAINT fk_weeks_book REFERENCES books,
+    week_number integer,
+    title varchar(255),
+    start_date date,
+    end_date date,
+    version bigint DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS chapters (
+    id bigint PRIMARY KEY,
+    week_id bigint CONSTRAINT fk_chapters_week REFERENCES weeks,
+    chapter_number integer,
+    title varchar(255),
+    comment_count bigint DEFAULT 0 NOT NULL,
+    version bigint DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS comments (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    chapter_id bigint CONSTRAINT fk_comments_chapter REFERENCES chapters,
+    user_id bigint CONSTRAINT fk_comments_user REFERENCES users,
+    content text,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6),
+    version bigint DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS weekly_questions (
+    id bigint PRIMARY KEY,
+    week_id bigint CONSTRAINT fk_weekly_questions_week REFERENCES weeks,
+    question text,
+    answer_count bigint DEFAULT 0 NOT NULL,
+    created_at timestamp(6),
+    version bigint DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS question_answers (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    question_id bigint CONSTRAINT fk_question_answers_question REFERENCES weekly_questions,
+    user_id bigint CONSTRAINT fk_question_answers_user REFERENCES users,
+    answer text,
+    created_at timestamp(6)
+);
+
+-- On a database ddl-auto created, the tables above already existed and were skipped, so they still lack the
+-- optimistic-lock versions and the counters. Existing rows start at version 0; the counters are filled in below.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE books ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE weeks ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE chapters ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE chapters ADD COLUMN IF NOT EXISTS comment_count bigint DEFAULT 0 NOT NULL;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE weekly_questions ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE weekly_questions ADD COLUMN IF NOT EXISTS answer_count bigint DEFAULT 0 NOT NULL;
+
+-- Auditing was not enabled before, so older comments have no creation time. Keyset pages seek on it and
+-- cannot pass a NULL, so those comments take their last edit, or failing that the time of this migration.
+UPDATE comments SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL;
+ALTER TABLE comments ALTER COLUMN created_at SET NOT NULL;
+
+-- Keyset pages of a chapter's comments, newest first
+CREATE INDEX IF NOT EXISTS idx_comments_chapter_created_id ON comments (chapter_id, created_at, id);
+
+-- Keep only the most recently created active book so the index below can be built
+UPDATE books SET is_active = false
+WHERE is_active AND id <> (SELECT max(id) FROM books WHERE is_active);
+
+-- At most one book may be active at a time
+CREATE UNIQUE INDEX IF NOT EXISTS uk_books_single_active ON books (is_active) WHERE is_active;
+
+-- Ids used to come from IDENTITY columns; start the pooled sequences above every existing id.
+-- GREATEST keeps a sequence that is already ahead from moving backwards on restart.
+SELECT setval('books_seq', GREATEST((SELECT last_value FROM books_seq), (SELECT COALESCE(max(id), 0) FROM books) + 50));
+SELECT setval('weeks_seq', GREATEST((SELECT last_value FROM weeks_seq), (SELECT COALESCE(max(id), 0) FROM weeks) + 50));
+SELECT setval('chapters_seq', GREATEST((SELECT last_value FROM chapters_seq), (SELECT COALESCE(max(id), 0) FROM chapters) + 50));
+SELECT setval('weekly_questions_seq', GREATEST((SELECT last_value FROM weekly_questions_seq), (SELECT COALESCE(max(id), 0) FROM weekly_questions) + 50));
+
+-- A member has at most one answer per question; keep the latest of any duplicates made before the
+-- answer upsert existed.
+DELETE FROM question_answers a
+USING question_answers newer
+WHERE newer.question_id = a.question_id AND newer.user_id = a.user_id AND newer.id > a.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_question_answers_question_user ON question_answers (question_id, user_id);
+
+-- The same reconciliation CounterReconciliationJob runs, so counters start from the rows they count
+UPDATE chapters c SET comment_count = counted.total
+FROM (SELECT ch.id, count(cm.id) AS total
+      FROM chapters ch LEFT JOIN comments cm ON cm.chapter_id = ch.id
+      GROUP BY ch.id) counted
+WHERE c.id = counted.id AND c.comment_count <> counted.total;
+
+UPDATE weekly_questions q SET answer_count = counted.total
+FROM (SELECT wq.id, count(qa.id) AS total
+      FROM weekly_questions wq LEFT JOIN question_answers qa ON qa.question_id = wq.id
+      GROUP BY wq.id) counted
+WHERE q.id = counted.id AND q.answer_count <> counted.total;
+
+-- One row per book, week, chapter, comment and weekly question with its version and the ids of the
+-- rows above it. The ETags on the read endpoints are digests over a slice of this view. A comment
+-- also carries its author's version, because the author is serialized with it.
+CREATE OR REPLACE VIEW content_versions AS
+    SELECT 'b' AS kind, b.id, b.version::text AS version, b.id AS book_id, NULL::bigint AS week_id, NULL::bigint AS chapter_id
+    FROM books b
+    UNION ALL
+    SELECT 'w', w.id, w.version::text, w.book_id, w.id, NULL
+    FROM weeks w
+    UNION ALL
+    SELECT 'c', c.id, c.version::text, w.book_id, c.week_id, c.id
+    FROM chapters c JOIN weeks w ON w.id = c.week_id
+    UNION ALL
+    SELECT 'm', m.id, m.version || '.' || coalesce(u.version, 0), w.book_id, c.week_id, m.chapter_id
+    FROM comments m JOIN chapters c ON c.id = m.chapter_id JOIN weeks w ON w.id = c.week_id
+    LEFT JOIN users u ON u.id = m.user_id
+    UNION ALL
+    SELECT 'q', q.id, q.version::text, w.book_id, q.week_id, NULL
+    FROM weekly_questions q JOIN weeks w ON w.id = q.week_id;
\ No newline at end of file
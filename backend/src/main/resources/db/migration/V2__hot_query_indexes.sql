@@ -0,0 +1,13 @@
+-- Foreign keys get no index of their own in PostgreSQL, so the per-parent finders and the joins behind
+-- the ETag stamps scanned whole tables. comments(chapter_id, created_at) and question_answers(question_id,
+-- user_id) are already served by idx_comments_chapter_created_id and uk_question_answers_question_user.
+-- Week and chapter numbers stay non-unique: renumbering swaps them one row at a time.
+
+-- A book's weeks in order, and the weeks side of every book-wide join
+CREATE INDEX IF NOT EXISTS idx_weeks_book_number ON weeks (book_id, week_number);
+
+-- A week's chapters in order
+CREATE INDEX IF NOT EXISTS idx_chapters_week_number ON chapters (week_id, chapter_number);
+
+-- A week's questions
+CREATE INDEX IF NOT EXISTS idx_weekly_questions_week ON weekly_questions (week_id);
\ No newline at end of file
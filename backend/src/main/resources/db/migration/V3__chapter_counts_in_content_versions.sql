@@ -0,0 +1,20 @@
+-- Chapter rows no longer take a version bump when a comment is posted or deleted: the count lives outside the
+-- cached Chapter entity, and bumping the version behind Hibernate's back left the cached copy unable to save.
+-- The chapter's version in content_versions carries its comment count instead, the way a comment carries its
+-- author's version, so the outline's ETag still moves with the counts it shows.
+CREATE OR REPLACE VIEW content_versions AS
+    SELECT 'b' AS kind, b.id, b.version::text AS version, b.id AS book_id, NULL::bigint AS week_id, NULL::bigint AS chapter_id
+    FROM books b
+    UNION ALL
+    SELECT 'w', w.id, w.version::text, w.book_id, w.id, NULL
+    FROM weeks w
+    UNION ALL
+    SELECT 'c', c.id, c.version || '.' || c.comment_count, w.book_id, c.week_id, c.id
+    FROM chapters c JOIN weeks w ON w.id = c.week_id
+    UNION ALL
+    SELECT 'm', m.id, m.version || '.' || coalesce(u.version, 0), w.book_id, c.week_id, m.chapter_id
+    FROM comments m JOIN chapters c ON c.id = m.chapter_id JOIN weeks w ON w.id = c.week_id
+    LEFT JOIN users u ON u.id = m.user_id
+    UNION ALL
+    SELECT 'q', q.id, q.version::text, w.book_id, q.week_id, NULL
+    FROM weekly_questions q JOIN weeks w ON w.id = q.week_id;
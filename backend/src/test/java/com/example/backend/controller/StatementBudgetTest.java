@@ -0,0 +1,152 @@
+package com.example.backend.controller;
+
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.example.backend.support.ClubFixture;
+import com.example.backend.support.ClubFixture.Club;
+import com.example.backend.support.CountingStatementInspector;
+import com.example.backend.support.EmbeddedDatabase;
+import com.example.backend.support.EndpointTour;
+
+// Calls every REST endpoint against the reference club and fails when one issues more SQL statements than its
+// budget, so an N+1 or a field that starts a new lazy load breaks the build rather than production. Also fails
+// when a controller method has no budget or was not exercised.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = EmbeddedDatabase.class)
+@Import(CountingStatementInspector.class)
+class StatementBudgetTest {
+    // Maximum statements per request for ClubFixture.Shape.REFERENCE. Endpoints that return the book graph
+    // load it one query per level, so their budgets no longer grow with it; a budget bump should come with a reason.
+    private static final Map<String, Integer> BUDGETS = Map.ofEntries(
+        entry("GET /api/books/current", 5),
+        entry("GET /api/books/current/outline", 3),
+        entry("GET /api/books/current/progress", 1),
+        entry("GET /api/books/{bookId}/weeks", 4),
+        // Only the book lookup; the archive itself streams on an async thread outside the request's count
+        entry("GET /api/books/{bookId}/export", 1),
+        entry("POST /api/books", 3),
+        // One batched INSERT per table, plus at most one sequence allocation per table
+        entry("POST /api/books/import", 8),
+        entry("PUT /api/books/{bookId}/activate", 2),
+        entry("GET /api/weeks/{id}", 4),
+        entry("GET /api/weeks/book/{bookId}", 4),
+        entry("GET /api/weeks/{weekId}/chapters", 3),
+        entry("POST /api/weeks", 1),
+        entry("PUT /api/weeks/{id}", 5),
+        entry("DELETE /api/weeks/{id}", 3),
+        entry("GET /api/chapters/{id}", 3),
+        entry("GET /api/chapters/week/{weekId}", 3),
+        entry("POST /api/chapters", 1),
+        entry("PUT /api/chapters/{id}", 4),
+        entry("DELETE /api/chapters/{id}", 3),
+        entry("GET /api/comments/chapter/{chapterId}", 2),
+        entry("GET /api/comments/chapter/{chapterId}/page", 2),
+        entry("GET /api/comments/chapter/{chapterId}/stream", 0),
+        entry("GET /api/comments/{id}", 2),
+        // The insert, with its counter bump in the same statement, and the search index refresh
+        entry("POST /api/comments", 2),
+        entry("PUT /api/comments/{id}", 3),
+        entry("DELETE /api/comments/{id}", 3),
+        entry("GET /api/questions/week/{weekId}", 2),
+        entry("GET /api/questions/{id}", 2),
+        entry("GET /api/questions/{questionId}/answers", 2),
+        entry("POST /api/questions", 1),
+        entry("PUT /api/questions/{id}", 2),
+        entry("DELETE /api/questions/{id}", 3),
+        entry("GET /api/answers/question/{questionId}", 1),
+        entry("GET /api/answers/{id}", 1),
+        // The upsert, with its counter bump in the same statement, and the search index refresh
+        entry("POST /api/answers", 2),
+        entry("PUT /api/answers/{id}", 3),
+        entry("DELETE /api/answers/{id}", 3),
+        entry("GET /api/search", 0),
+        entry("POST /api/users/register", 2),
+        entry("POST /api/users/login", 2),
+        entry("POST /api/users/logout", 0),
+        entry("POST /api/users/stream-token", 0),
+        entry("POST /api/users", 2),
+        entry("GET /api/users", 1),
+        entry("GET /api/users/{id}", 1),
+        entry("GET /api/users/username", 1),
+        entry("PUT /api/users/{id}", 2),
+        entry("DELETE /api/users/{id}", 2),
+        // Only the user lookup; the UPDATE goes out later with the buffer's batched flush
+        entry("PUT /api/users/{id}/progress", 1),
+        entry("PUT /api/users/{id}/username", 3),
+        entry("PUT /api/users/{id}/password", 2));
+    
+    @Autowired
+    private ApplicationContext context;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+    
+    @Test
+    void everyEndpointStaysWithinItsStatementBudget() throws Exception {
+        Club club = ClubFixture.seed(context, ClubFixture.Shape.REFERENCE);
+        EndpointTour tour = new EndpointTour(mockMvc, club.readers().get(0).token());
+        tour.run(club);
+        
+        Set<String> routes = routes();
+        Map<String, Integer> measured = tour.statements();
+        List<String> problems = new ArrayList<>();
+        for (String route : routes) {
+            Integer budget = BUDGETS.get(route);
+            Integer statements = measured.get(route);
+            if (budget == null) {
+                problems.add(route + " has no statement budget");
+            }
+            if (tour.failures().containsKey(route)) {
+                problems.add(route + " " + tour.failures().get(route));
+            }
+            if (statements == null) {
+                problems.add(route + " was not exercised");
+            } else if (budget != null && statements > budget) {
+                problems.add(route + " issued " + statements + " statements, budget is " + budget);
+            }
+        }
+        BUDGETS.keySet().stream()
+            .filter(route -> !routes.contains(route))
+            .sorted()
+            .forEach(route -> problems.add(route + " has a budget but no longer exists"));
+        
+        assertThat(problems).isEmpty();
+    }
+    
+    // "METHOD /pattern" for every handler in this package
+    private Set<String> routes() {
+        Set<String> routes = new TreeSet<>();
+        handlerMapping.getHandlerMethods().forEach((info, handler) -> {
+            if (handler.getBeanType().getPackageName().equals(BookController.class.getPackageName())) {
+                for (RequestMethod method : info.getMethodsCondition().getMethods()) {
+                    info.getPatternValues().forEach(pattern -> routes.add(method.name() + " " + pattern));
+                }
+            }
+        });
+        return routes;
+    }
+}
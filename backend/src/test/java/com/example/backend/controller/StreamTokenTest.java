@@ -0,0 +1,83 @@
+package com.example.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.backend.support.ClubFixture;
+import com.example.backend.support.ClubFixture.Club;
+import com.example.backend.support.EmbeddedDatabase;
+
+import tools.jackson.databind.json.JsonMapper;
+
+// Event streams take their token from the URL, so only a short-lived stream token is accepted there, and a
+// stream token is accepted nowhere else
+@SpringBootTest
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = EmbeddedDatabase.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StreamTokenTest {
+    private static final String STREAM = "/api/comments/chapter/{chapterId}/stream";
+    
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    
+    @Autowired
+    private ApplicationContext context;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    private Club club;
+    
+    @BeforeAll
+    void seed() {
+        club = ClubFixture.seed(context, ClubFixture.Shape.REFERENCE);
+    }
+    
+    @Test
+    void aStreamTokenOpensTheStream() throws Exception {
+        assertThat(openStream(streamToken(sessionToken()))).isEqualTo(200);
+    }
+    
+    @Test
+    void aSessionTokenIsRefusedInTheUrl() throws Exception {
+        assertThat(openStream(sessionToken())).isEqualTo(401);
+    }
+    
+    @Test
+    void aStreamTokenIsRefusedAsABearerToken() throws Exception {
+        String streamToken = streamToken(sessionToken());
+        
+        int status = mockMvc.perform(get("/api/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + streamToken))
+            .andReturn().getResponse().getStatus();
+        
+        assertThat(status).isEqualTo(401);
+    }
+    
+    private String sessionToken() {
+        return club.readers().get(0).token();
+    }
+    
+    private String streamToken(String sessionToken) throws Exception {
+        String body = mockMvc.perform(post("/api/users/stream-token")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + sessionToken))
+            .andReturn().getResponse().getContentAsString();
+        return mapper.readTree(body).get("token").asString();
+    }
+    
+    private int openStream(String token) throws Exception {
+        return mockMvc.perform(get(STREAM, club.hotChapterId()).param("access_token", token))
+            .andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.example.backend.support.EmbeddedDatabase;
+
+// Starts the backend on a database ddl-auto made from the entities as they were before migrations, with data in it.
+// Flyway baselines it at version 0 and runs every migration over the existing tables; Hibernate's validation and
+// the content_versions view both fail if a column the tables never had was not added on the way.
+@SpringBootTest
+@ContextConfiguration(initializers = { EmbeddedDatabase.class, BaselineMigrationTest.DdlAutoSchema.class })
+class BaselineMigrationTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void migratesADatabaseThatDdlAutoCreated() {
+        assertThat(jdbcTemplate.queryForObject(
+            "select version from flyway_schema_history where type = 'BASELINE'", String.class)).isEqualTo("0");
+        assertThat(jdbcTemplate.queryForList("select version from books union all select version from users", Long.class))
+            .containsOnly(0L);
+        
+        assertThat(jdbcTemplate.queryForList("select comment_count from chapters order by id", Long.class))
+            .containsExactly(3L, 0L);
+        assertThat(jdbcTemplate.queryForObject("select answer_count from weekly_questions where id = 1", Long.class))
+            .isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from comments where created_at is null", Long.class))
+            .isZero();
+        
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from content_versions where book_id = 1", Long.class)).isEqualTo(8L);
+    }
+    
+    // Runs after EmbeddedDatabase, against the database it just created and before Flyway sees it
+    static class DdlAutoSchema implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            Environment environment = context.getEnvironment();
+            try (Connection connection = DriverManager.getConnection(environment.getProperty("spring.datasource.url"),
+                    environment.getProperty("spring.datasource.username"),
+                    environment.getProperty("spring.datasource.password"))) {
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/ddl-auto-baseline.sql"));
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not create the ddl-auto schema", e);
+            }
+        }
+    }
+}
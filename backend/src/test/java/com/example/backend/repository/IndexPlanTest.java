@@ -0,0 +1,115 @@
+package com.example.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.backend.support.ClubFixture;
+import com.example.backend.support.ClubFixture.Club;
+import com.example.backend.support.EmbeddedDatabase;
+import com.example.backend.support.EndpointTour;
+import com.example.backend.support.QueryRecorder;
+import com.example.backend.support.QueryRecorder.Binding;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+// Tours every endpoint, then EXPLAINs each distinct query it issued with the parameters it ran with. Sequential
+// scans are disabled for the EXPLAIN, so the planner takes any index that applies even on the small reference club.
+// A table still read without an index condition and filtered afterwards has no index serving that finder.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = EmbeddedDatabase.class)
+@Import(QueryRecorder.class)
+class IndexPlanTest {
+    private static final Set<String> SCANS = Set.of("Seq Scan", "Index Scan", "Index Only Scan");
+    
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    
+    @Autowired
+    private ApplicationContext context;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Test
+    void everyQueryBehindTheEndpointsIsServedByAnIndex() throws Exception {
+        Club club = ClubFixture.seed(context, ClubFixture.Shape.REFERENCE);
+        QueryRecorder.start();
+        try {
+            new EndpointTour(mockMvc, club.readers().get(0).token()).run(club);
+        } finally {
+            QueryRecorder.stop();
+        }
+        
+        Map<String, List<Binding>> queries = QueryRecorder.queries();
+        assertThat(queries).isNotEmpty();
+        assertThat(unindexedScans(queries)).isEmpty();
+    }
+    
+    private List<String> unindexedScans(Map<String, List<Binding>> queries) throws SQLException {
+        List<String> problems = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            for (Map.Entry<String, List<Binding>> query : queries.entrySet()) {
+                String sql = query.getKey();
+                try (Statement settings = connection.createStatement();
+                     PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+                    settings.execute("SET LOCAL enable_seqscan = off");
+                    for (Binding binding : query.getValue()) {
+                        binding.applyTo(statement);
+                    }
+                    try (ResultSet plan = statement.executeQuery()) {
+                        plan.next();
+                        collect(mapper.readTree(plan.getString(1)).get(0).get("Plan"), sql, problems);
+                    }
+                } catch (SQLException | ReflectiveOperationException e) {
+                    problems.add("could not explain " + abbreviate(sql) + ": " + e.getMessage());
+                } finally {
+                    // EXPLAIN never executes, but the insert-returning CTEs should not leave a transaction open either
+                    connection.rollback();
+                }
+            }
+        }
+        return problems;
+    }
+    
+    private static void collect(JsonNode node, String sql, List<String> problems) {
+        String type = node.path("Node Type").asString();
+        if (SCANS.contains(type) && node.has("Filter") && !node.has("Index Cond")) {
+            problems.add(node.path("Relation Name").asString() + " filtered by " + node.get("Filter").asString()
+                + " with no index condition (" + type + ") in " + abbreviate(sql));
+        }
+        JsonNode children = node.path("Plans");
+        for (int i = 0; i < children.size(); i++) {
+            collect(children.get(i), sql, problems);
+        }
+    }
+    
+    private static String abbreviate(String sql) {
+        String line = sql.replaceAll("\\s+", " ").trim();
+        return line.length() <= 160 ? line : line.substring(0, 157) + "...";
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.dto.CommentRequest;
+import com.example.backend.dto.EntityRef;
+import com.example.backend.model.Book;
+import com.example.backend.model.Chapter;
+import com.example.backend.service.CommentService;
+import com.example.backend.support.ClubFixture;
+import com.example.backend.support.ClubFixture.Club;
+import com.example.backend.support.EmbeddedDatabase;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Reads the reference club's book, weeks and chapters, each read in its own session, and expects a second round to
+// come entirely from the second-level and query caches, so a mapping or query change that quietly bypasses them
+// fails here. Comment counts are kept out of both caches: a post must leave them warm and still show its count.
+@SpringBootTest
+@ContextConfiguration(initializers = EmbeddedDatabase.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SecondLevelCacheTest {
+    @Autowired
+    private ApplicationContext context;
+    
+    @Autowired
+    private BookRepository bookRepository;
+    
+    @Autowired
+    private WeekRepository weekRepository;
+    
+    @Autowired
+    private ChapterRepository chapterRepository;
+    
+    @Autowired
+    private CommentService commentService;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private Club club;
+    
+    @BeforeAll
+    void seed() {
+        club = ClubFixture.seed(context, ClubFixture.Shape.REFERENCE);
+    }
+    
+    @Test
+    void warmReadsOfTheReferenceDataIssueNoSql() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        read();
+        long statements = statistics.getPrepareStatementCount();
+        long queryHits = statistics.getQueryCacheHitCount();
+        long entityHits = statistics.getSecondLevelCacheHitCount();
+        read();
+        
+        assertThat(statistics.getPrepareStatementCount() - statements).as("statements in the warm round").isZero();
+        assertThat(statistics.getQueryCacheHitCount() - queryHits).as("query cache hits in the warm round").isPositive();
+        assertThat(statistics.getSecondLevelCacheHitCount() - entityHits).as("second-level cache hits in the warm round")
+            .isPositive();
+    }
+    
+    @Test
+    void postingACommentKeepsTheCachesWarmAndShowsTheNewCount() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Long chapterId = club.hotChapterId();
+        read();
+        long before = commentCount(chapterId);
+        
+        commentService.createComment(new CommentRequest("Fresh count", new EntityRef(chapterId),
+            new EntityRef(club.readers().get(0).id())));
+        
+        long statements = statistics.getPrepareStatementCount();
+        long queryHits = statistics.getQueryCacheHitCount();
+        weekRepository.findDetailsByBookId(club.bookId());
+        assertThat(statistics.getPrepareStatementCount() - statements).as("statements for the weeks").isZero();
+        assertThat(statistics.getQueryCacheHitCount() - queryHits).as("query cache hits for the weeks").isEqualTo(1);
+        assertThat(entityManagerFactory.getCache().contains(Chapter.class, chapterId)).isTrue();
+        assertThat(commentCount(chapterId)).isEqualTo(before + 1);
+    }
+    
+    // The entity graph through Book.weeks and Week.chapters, then the cacheable finder
+    private void read() {
+        readOnly().executeWithoutResult(status -> {
+            Book book = bookRepository.findById(club.bookId()).orElseThrow();
+            book.getWeeks().forEach(week -> week.getChapters().size());
+        });
+        weekRepository.findDetailsByBookId(club.bookId());
+    }
+    
+    private long commentCount(Long chapterId) {
+        return chapterRepository.findDetailById(chapterId).orElseThrow().commentCount();
+    }
+    
+    private TransactionTemplate readOnly() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.example.backend.dto.BookRequest;
+import com.example.backend.support.EmbeddedDatabase;
+
+// Activations race on uk_books_single_active; whichever commits last must be the only active book,
+// and a call that gives up must leave nothing of its own behind
+@SpringBootTest
+@ContextConfiguration(initializers = EmbeddedDatabase.class)
+class BookServiceConcurrencyTest {
+    // Below the connection pool size, so every call holds a connection at the same time
+    private static final int PARALLEL_CALLS = 8;
+    private static final int ROUNDS = 20;
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void parallelActivationsLeaveExactlyOneActiveBook() throws Exception {
+        List<Long> bookIds = IntStream.range(0, PARALLEL_CALLS)
+            .mapToObj(i -> bookService.createBook(new BookRequest("Contender " + i, "Author", 10, false)).id())
+            .toList();
+        
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Long> activated = inParallel(bookIds, bookService::setActiveBook);
+            
+            assertThat(activated).isNotEmpty();
+            assertThat(activeBookIds()).singleElement().isIn(activated);
+        }
+    }
+    
+    @Test
+    void parallelCreatesOfActiveBooksLeaveOneActiveAndNoStrays() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            String prefix = "Round " + round + " book ";
+            List<String> titles = IntStream.range(0, PARALLEL_CALLS).mapToObj(i -> prefix + i).toList();
+            
+            List<String> created = inParallel(titles,
+                title -> bookService.createBook(new BookRequest(title, "Author", 10, true)));
+            
+            assertThat(activeBookIds()).hasSize(1);
+            // A create whose activation gave up rolled its insert back with it
+            assertThat(jdbcTemplate.queryForList("select title from books where title like ?", String.class, prefix + "%"))
+                .containsExactlyInAnyOrderElementsOf(created);
+        }
+    }
+    
+    private List<Long> activeBookIds() {
+        return jdbcTemplate.queryForList("select id from books where is_active", Long.class);
+    }
+    
+    // Releases every call at once and returns the arguments whose call went through. A call may give up on
+    // a concurrency failure once its retries run out, but must not fail in any other way.
+    private static <T> List<T> inParallel(List<T> arguments, Consumer<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(arguments.size());
+        CyclicBarrier start = new CyclicBarrier(arguments.size());
+        try {
+            List<Future<Boolean>> calls = new ArrayList<>();
+            for (T argument : arguments) {
+                calls.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        call.accept(argument);
+                        return true;
+                    } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+                        return false;
+                    }
+                }));
+            }
+            
+            List<T> succeeded = new ArrayList<>();
+            for (int i = 0; i < arguments.size(); i++) {
+                if (calls.get(i).get(30, TimeUnit.SECONDS)) {
+                    succeeded.add(arguments.get(i));
+                }
+            }
+            return succeeded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.dto.CommentDetail;
+import com.example.backend.dto.CommentRequest;
+import com.example.backend.dto.EntityRef;
+import com.example.backend.support.ClubFixture;
+import com.example.backend.support.ClubFixture.Club;
+import com.example.backend.support.CountingStatementInspector;
+import com.example.backend.support.EmbeddedDatabase;
+
+// Posting a comment is one round trip: the insert, the chapter counter bump and the author lookup share a statement.
+// The search index refresh that follows the commit is separate work and is not counted here.
+@SpringBootTest
+@ContextConfiguration(initializers = EmbeddedDatabase.class)
+@Import(CountingStatementInspector.class)
+class CommentServiceStatementTest {
+    @Autowired
+    private ApplicationContext context;
+    
+    @Autowired
+    private CommentService commentService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void createCommentIssuesExactlyOneStatement() {
+        Club club = ClubFixture.seed(context, ClubFixture.Shape.REFERENCE);
+        Long chapterId = club.hotChapterId();
+        Long readerId = club.readers().get(0).id();
+        long countBefore = commentCount(chapterId);
+        CommentRequest request = new CommentRequest("One statement", new EntityRef(chapterId), new EntityRef(readerId));
+        
+        // Counted inside an enclosing transaction, so the after-commit listeners run only once counting has stopped
+        int[] statements = new int[1];
+        CommentDetail created = transactionTemplate.execute(status -> {
+            CountingStatementInspector.start();
+            try {
+                return commentService.createComment(request);
+            } finally {
+                statements[0] = CountingStatementInspector.stop();
+            }
+        });
+        
+        assertThat(statements[0]).isEqualTo(1);
+        assertThat(created.id()).isNotNull();
+        assertThat(created.user().username()).isEqualTo("reader1");
+        assertThat(commentCount(chapterId)).isEqualTo(countBefore + 1);
+    }
+    
+    private long commentCount(Long chapterId) {
+        return jdbcTemplate.queryForObject("select comment_count from chapters where id = ?", Long.class, chapterId);
+    }
+}
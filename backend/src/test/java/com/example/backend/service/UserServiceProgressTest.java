@@ -0,0 +1,74 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.example.backend.dto.UserRequest;
+import com.example.backend.model.User;
+import com.example.backend.support.EmbeddedDatabase;
+
+// ProgressWriteBuffer writes current_chapter behind the user's back. A password change or a login rehash that
+// read the user before such a flush must not write the old chapter back when it saves the new hash.
+@SpringBootTest
+@ContextConfiguration(initializers = EmbeddedDatabase.class)
+class UserServiceProgressTest {
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ProgressWriteBuffer progressWriteBuffer;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @MockitoSpyBean
+    private PasswordHashingService passwordHashingService;
+    
+    @Test
+    void progressFlushedDuringPasswordChangeSurvivesIt() {
+        User user = userService.createUser(new UserRequest("changing-reader", "changing@example.com", "old-password", 1));
+        flushProgressWhileHashing(user.getId(), "new-password", 7);
+        
+        userService.updatePassword(user.getId(), "old-password", "new-password");
+        
+        assertThat(currentChapter(user.getId())).isEqualTo(7);
+        assertThat(passwordHashingService.matches("new-password", storedPassword(user.getId()))).isTrue();
+    }
+    
+    @Test
+    void progressFlushedDuringLoginRehashSurvivesIt() {
+        User user = userService.createUser(new UserRequest("rehashed-reader", "rehashed@example.com", "password", 1));
+        doReturn(true).when(passwordHashingService).needsRehash(anyString());
+        flushProgressWhileHashing(user.getId(), "password", 9);
+        
+        userService.authenticate("rehashed-reader", "password", "127.0.0.1");
+        
+        assertThat(currentChapter(user.getId())).isEqualTo(9);
+    }
+    
+    // The slow hash runs after the user was read and before the new one is written, which is where a flush lands
+    private void flushProgressWhileHashing(Long userId, String rawPassword, int chapter) {
+        doAnswer(invocation -> {
+            progressWriteBuffer.record(userId, chapter);
+            progressWriteBuffer.flush();
+            return invocation.callRealMethod();
+        }).when(passwordHashingService).encode(rawPassword);
+    }
+    
+    private Integer currentChapter(Long userId) {
+        return jdbcTemplate.queryForObject("select current_chapter from users where id = ?", Integer.class, userId);
+    }
+    
+    private String storedPassword(Long userId) {
+        return jdbcTemplate.queryForObject("select password from users where id = ?", String.class, userId);
+    }
+}
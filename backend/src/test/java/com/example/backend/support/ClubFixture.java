@@ -0,0 +1,187 @@
+package com.example.backend.support;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.example.backend.dto.BookDetail;
+import com.example.backend.dto.ChapterDetail;
+import com.example.backend.dto.CommentDetail;
+import com.example.backend.dto.WeekDetail;
+import com.example.backend.model.Book;
+import com.example.backend.model.Chapter;
+import com.example.backend.model.Comment;
+import com.example.backend.model.QuestionAnswer;
+import com.example.backend.model.User;
+import com.example.backend.model.Week;
+import com.example.backend.model.WeeklyQuestion;
+import com.example.backend.repository.BookRepository;
+import com.example.backend.repository.QuestionAnswerRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.repository.WeeklyQuestionRepository;
+import com.example.backend.service.AccessTokenService;
+import com.example.backend.service.CounterReconciliationJob;
+
+// Deterministic club data shaped like a real book: a weekly schedule, a few chapters a week, busy threads and
+// weekly questions, with every reader signed in. Shared by the backend tests, the benchmarks and the load test.
+public final class ClubFixture {
+    public static final String PASSWORD = "password";
+    // Hashed once at the lowest strength so seeding thousands of readers stays cheap
+    private static final String PASSWORD_HASH = new BCryptPasswordEncoder(4).encode(PASSWORD);
+    
+    private ClubFixture() {
+    }
+    
+    public record Shape(int readers, int weeks, int chaptersPerWeek, int commentsPerChapter, int hotChapterComments,
+                        int questionsPerWeek, int answersPerQuestion) {
+        
+        // Small enough that per-request statement counts can be reasoned about by hand
+        public static final Shape REFERENCE = new Shape(2, 2, 2, 2, 0, 1, 2);
+        
+        // One live chapter far busier than the rest, for the service benchmarks
+        public static final Shape HOT_CHAPTER = new Shape(500, 12, 3, 20, 2000, 0, 0);
+        
+        // A realistic club for throughput runs
+        public static Shape club(int readers) {
+            return new Shape(readers, 12, 3, 40, 0, 2, 10);
+        }
+    }
+    
+    public record Reader(Long id, String token) {
+    }
+    
+    public record Club(Long bookId, List<Long> weekIds, List<Long> chapterIds, List<Long> questionIds,
+                       List<Reader> readers) {
+        
+        // The first chapter, which carries Shape.hotChapterComments on top of its usual thread
+        public Long hotChapterId() {
+            return chapterIds.get(0);
+        }
+    }
+    
+    public static List<User> users(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            User user = new User();
+            user.setUsername("reader" + i);
+            user.setEmail("reader" + i + "@example.com");
+            user.setPassword(PASSWORD_HASH);
+            user.setCurrentChapter(i % 36);
+            users.add(user);
+        }
+        return users;
+    }
+    
+    // The active book with its weeks, chapters and comments, not yet saved
+    public static Book book(Shape shape, List<User> users) {
+        Book book = new Book();
+        book.setTitle("The Lighthouse Keeper");
+        book.setAuthor("A. Fixture");
+        book.setTotalChapters(shape.weeks() * shape.chaptersPerWeek());
+        book.setIsActive(true);
+        
+        LocalDate start = LocalDate.of(2025, 1, 6);
+        LocalDateTime posted = LocalDateTime.of(2025, 1, 6, 9, 0);
+        int chapterNumber = 1;
+        for (int w = 1; w <= shape.weeks(); w++) {
+            Week week = new Week();
+            week.setBook(book);
+            week.setWeekNumber(w);
+            week.setTitle("Week " + w);
+            week.setStartDate(start.plusWeeks(w - 1));
+            week.setEndDate(start.plusWeeks(w - 1).plusDays(6));
+            book.getWeeks().add(week);
+            
+            for (int c = 0; c < shape.chaptersPerWeek(); c++, chapterNumber++) {
+                Chapter chapter = new Chapter();
+                chapter.setWeek(week);
+                chapter.setChapterNumber(chapterNumber);
+                chapter.setTitle("Chapter " + chapterNumber);
+                week.getChapters().add(chapter);
+                
+                int comments = shape.commentsPerChapter() + (chapterNumber == 1 ? shape.hotChapterComments() : 0);
+                for (int n = 0; n < comments; n++) {
+                    Comment comment = new Comment();
+                    comment.setChapter(chapter);
+                    comment.setUser(users.get((chapterNumber + n) % users.size()));
+                    comment.setContent("Comment " + n + " on chapter " + chapterNumber
+                        + ": the narrator is clearly hiding something about the lighthouse keeper.");
+                    posted = posted.plusMinutes(7);
+                    comment.setCreatedAt(posted);
+                    comment.setUpdatedAt(posted);
+                    chapter.getComments().add(comment);
+                }
+            }
+        }
+        return book;
+    }
+    
+    // The DTO tree the read endpoints render for the same graph
+    public static BookDetail bookDetail(Book book) {
+        BookDetail detail = BookDetail.from(book);
+        for (Week week : book.getWeeks()) {
+            WeekDetail weekDetail = WeekDetail.from(week);
+            for (Chapter chapter : week.getChapters()) {
+                ChapterDetail chapterDetail = ChapterDetail.from(chapter, chapter.getComments().size());
+                for (Comment comment : chapter.getComments()) {
+                    chapterDetail.comments().add(CommentDetail.from(comment));
+                }
+                weekDetail.chapters().add(chapterDetail);
+            }
+            detail.weeks().add(weekDetail);
+        }
+        return detail;
+    }
+    
+    // Saves the whole club, answers every question a few times and mints each reader a token
+    public static Club seed(ApplicationContext context, Shape shape) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        WeeklyQuestionRepository questionRepository = context.getBean(WeeklyQuestionRepository.class);
+        QuestionAnswerRepository answerRepository = context.getBean(QuestionAnswerRepository.class);
+        AccessTokenService accessTokenService = context.getBean(AccessTokenService.class);
+        
+        List<User> users = userRepository.saveAll(users(shape.readers()));
+        Book book = bookRepository.save(book(shape, users));
+        
+        List<Long> weekIds = new ArrayList<>();
+        List<Long> chapterIds = new ArrayList<>();
+        List<WeeklyQuestion> questions = new ArrayList<>();
+        for (Week week : book.getWeeks()) {
+            weekIds.add(week.getId());
+            week.getChapters().forEach(chapter -> chapterIds.add(chapter.getId()));
+            for (int q = 1; q <= shape.questionsPerWeek(); q++) {
+                WeeklyQuestion question = new WeeklyQuestion();
+                question.setWeek(week);
+                question.setQuestion("Week " + week.getWeekNumber() + ", question " + q + ": whose side are you on?");
+                questions.add(question);
+            }
+        }
+        questions = questionRepository.saveAll(questions);
+        
+        // Each reader answers a question at most once (uk_question_answers_question_user)
+        int answersPerQuestion = Math.min(shape.answersPerQuestion(), users.size());
+        List<QuestionAnswer> answers = new ArrayList<>();
+        for (WeeklyQuestion question : questions) {
+            for (int a = 0; a < answersPerQuestion; a++) {
+                QuestionAnswer answer = new QuestionAnswer();
+                answer.setQuestion(question);
+                answer.setUser(users.get((int) ((question.getId() + a) % users.size())));
+                answer.setAnswer("The keeper, obviously. Answer " + a + ".");
+                answers.add(answer);
+            }
+        }
+        answerRepository.saveAll(answers);
+        context.getBean(CounterReconciliationJob.class).reconcile();
+        
+        List<Reader> readers = users.stream()
+            .map(user -> new Reader(user.getId(), accessTokenService.issue(user)))
+            .toList();
+        List<Long> questionIds = questions.stream().map(WeeklyQuestion::getId).toList();
+        return new Club(book.getId(), weekIds, chapterIds, questionIds, readers);
+    }
+}
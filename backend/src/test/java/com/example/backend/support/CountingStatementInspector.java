@@ -0,0 +1,44 @@
+package com.example.backend.support;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+// Counts the SQL statements Hibernate prepares on the calling thread between start() and stop(), in front of the
+// backend's own inspector. MockMvc serves a request on the test thread, so this counts exactly that request; work
+// handed to another thread is not counted. Bring it in with @Import(CountingStatementInspector.class).
+public class CountingStatementInspector implements BeanPostProcessor {
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+    
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+    
+    // The statements counted since start()
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+    
+    // Before initialization, while the factory bean still holds the properties it will build Hibernate from
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof LocalContainerEntityManagerFactoryBean factory) {
+            Map<String, Object> properties = factory.getJpaPropertyMap();
+            StatementInspector delegate = (StatementInspector) properties.get(AvailableSettings.STATEMENT_INSPECTOR);
+            StatementInspector counting = sql -> {
+                int[] count = COUNT.get();
+                if (count != null) {
+                    count[0]++;
+                }
+                return delegate == null ? sql : delegate.inspect(sql);
+            };
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, counting);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.backend.support;
+
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.backend.BackendApplication;
+
+// The real backend on a random port and its own embedded database, for runs outside a test context:
+// the benchmarks and the load test
+public final class EmbeddedBackend implements AutoCloseable {
+    private final ConfigurableApplicationContext context;
+    
+    private EmbeddedBackend(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+    
+    public static EmbeddedBackend start() {
+        return start(List.of());
+    }
+    
+    // Extra configuration classes go in next to the application's own; later properties win
+    public static EmbeddedBackend start(List<Class<?>> sources, String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+            .sources(sources.toArray(Class<?>[]::new))
+            .initializers(new EmbeddedDatabase())
+            .profiles("dev")
+            .properties("server.port=0", "management.server.port=0", "logging.level.root=WARN")
+            .properties(properties)
+            .run();
+        return new EmbeddedBackend(context);
+    }
+    
+    public ConfigurableApplicationContext context() {
+        return context;
+    }
+    
+    public URI baseUri() {
+        return URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+    }
+    
+    @Override
+    public void close() {
+        context.close();
+    }
+}
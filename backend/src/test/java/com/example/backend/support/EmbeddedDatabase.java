@@ -0,0 +1,59 @@
+package com.example.backend.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// Points the context's DataSource at a fresh database on a PostgreSQL process shared by the whole JVM, so Flyway
+// migrates it from scratch and nothing leaks between contexts. Use it as a context initializer:
+// @ContextConfiguration(initializers = EmbeddedDatabase.class) on a test, or through SpringApplicationBuilder.
+public class EmbeddedDatabase implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+    private static EmbeddedPostgres postgres;
+    
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        EmbeddedPostgres server = server();
+        String database = "bookclub_" + DATABASES.incrementAndGet();
+        try (Connection connection = server.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + database);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create database " + database, e);
+        }
+        
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("embeddedDatabase", Map.of(
+            "spring.datasource.url", server.getJdbcUrl("postgres", database),
+            "spring.datasource.username", "postgres",
+            "spring.datasource.password", "postgres")));
+    }
+    
+    private static synchronized EmbeddedPostgres server() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+            }
+            EmbeddedPostgres started = postgres;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException e) {
+                    // The process goes away with the JVM either way
+                }
+            }));
+        }
+        return postgres;
+    }
+}
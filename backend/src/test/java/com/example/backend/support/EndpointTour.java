@@ -0,0 +1,233 @@
+package com.example.backend.support;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.example.backend.support.ClubFixture.Club;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+// Calls every REST endpoint once against a seeded club, through the whole filter chain. Reads go first, then
+// writes on fresh rows so deletes never cascade through the seeded discussion. Routes that answer with an error,
+// or serve an ETag they do not honour, are collected in failures(). With CountingStatementInspector imported,
+// statements() holds each route's most expensive request.
+public final class EndpointTour {
+    private final MockMvc mockMvc;
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private final Map<String, String> failures = new TreeMap<>();
+    private final Map<String, Integer> statements = new TreeMap<>();
+    private String token;
+    
+    public EndpointTour(MockMvc mockMvc, String token) {
+        this.mockMvc = mockMvc;
+        this.token = token;
+    }
+    
+    // "GET /api/comments/{id}" -> what went wrong with it
+    public Map<String, String> failures() {
+        return failures;
+    }
+    
+    // "GET /api/comments/{id}" -> the most statements one request to it issued
+    public Map<String, Integer> statements() {
+        return statements;
+    }
+    
+    public void run(Club club) throws Exception {
+        Long bookId = club.bookId();
+        Long weekId = club.weekIds().get(0);
+        Long chapterId = club.chapterIds().get(0);
+        Long questionId = club.questionIds().get(0);
+        Long readerId = club.readers().get(0).id();
+        
+        revalidate("/api/books/current");
+        revalidate("/api/books/current/outline");
+        send("GET", "/api/books/current/progress", null);
+        revalidate("/api/books/{bookId}/weeks", bookId);
+        send("GET", "/api/books/{bookId}/export", null, bookId);
+        revalidate("/api/weeks/{id}", weekId);
+        revalidate("/api/weeks/book/{bookId}", bookId);
+        revalidate("/api/weeks/{weekId}/chapters", weekId);
+        revalidate("/api/chapters/{id}", chapterId);
+        revalidate("/api/chapters/week/{weekId}", weekId);
+        revalidate("/api/comments/chapter/{chapterId}", chapterId);
+        revalidate("/api/comments/chapter/{chapterId}/page", chapterId);
+        subscribe("/api/comments/chapter/{chapterId}/stream", send("POST", "/api/users/stream-token", null), chapterId);
+        revalidate("/api/questions/week/{weekId}", weekId);
+        revalidate("/api/questions/{id}", questionId);
+        send("GET", "/api/questions/{questionId}/answers", null, questionId);
+        send("GET", "/api/answers/question/{questionId}", null, questionId);
+        send("GET", "/api/search?q=narrat*", null);
+        send("GET", "/api/users", null);
+        send("GET", "/api/users/{id}", null, readerId);
+        send("GET", "/api/users/username?username=reader1", null);
+        
+        JsonNode registered = send("POST", "/api/users/register", Map.of(
+            "username", "endpoint-tour", "email", "endpoint-tour@example.com", "password", "tour-password"));
+        send("POST", "/api/users/login", Map.of("username", "endpoint-tour", "password", "tour-password"));
+        Long spareId = id(send("POST", "/api/users", Map.of(
+            "username", "tour-spare", "email", "tour-spare@example.com", "password", "spare-password")));
+        if (spareId != null) {
+            send("PUT", "/api/users/{id}", Map.of("email", "spare@example.com", "currentChapter", 3), spareId);
+            send("PUT", "/api/users/{id}/progress", Map.of("currentChapter", 4), spareId);
+            send("PUT", "/api/users/{id}/username", Map.of("username", "tour-spare-2"), spareId);
+            send("PUT", "/api/users/{id}/password", Map.of(
+                "currentPassword", "spare-password", "newPassword", "spare-password-2"), spareId);
+            send("DELETE", "/api/users/{id}", null, spareId);
+        }
+        
+        // The new book stays inactive so the rest of the tour keeps reading the seeded one
+        send("POST", "/api/books", Map.of("title", "Tour Book", "author", "Tour", "totalChapters", 1, "isActive", false));
+        send("POST", "/api/books/import", Map.of("title", "Tour Import", "author", "Tour", "isActive", false,
+            "weeks", List.of(Map.of("weekNumber", 1, "title", "Week 1", "startDate", "2025-06-02", "endDate", "2025-06-08",
+                "chapters", List.of(Map.of("chapterNumber", 1, "title", "One"), Map.of("chapterNumber", 2, "title", "Two")),
+                "questions", List.of("Who is telling the truth?")))));
+        send("PUT", "/api/books/{bookId}/activate", null, bookId);
+        
+        Long newWeekId = id(send("POST", "/api/weeks", Map.of("book", Map.of("id", bookId), "weekNumber", 99,
+            "title", "Tour week", "startDate", "2025-06-02", "endDate", "2025-06-08")));
+        if (newWeekId != null) {
+            send("PUT", "/api/weeks/{id}", Map.of("weekNumber", 99, "title", "Tour week, moved",
+                "startDate", "2025-06-09", "endDate", "2025-06-15"), newWeekId);
+            Long newChapterId = id(send("POST", "/api/chapters", Map.of(
+                "week", Map.of("id", newWeekId), "chapterNumber", 99, "title", "Tour chapter")));
+            if (newChapterId != null) {
+                send("PUT", "/api/chapters/{id}", Map.of("chapterNumber", 99, "title", "Tour chapter, renamed"), newChapterId);
+                send("DELETE", "/api/chapters/{id}", null, newChapterId);
+            }
+            send("DELETE", "/api/weeks/{id}", null, newWeekId);
+        }
+        
+        Long commentId = id(send("POST", "/api/comments", Map.of(
+            "content", "Tour comment", "chapter", Map.of("id", chapterId), "user", Map.of("id", readerId))));
+        if (commentId != null) {
+            revalidate("/api/comments/{id}", commentId);
+            send("PUT", "/api/comments/{id}", "Tour comment, edited", commentId);
+            send("DELETE", "/api/comments/{id}", null, commentId);
+        }
+        
+        Long newQuestionId = id(send("POST", "/api/questions", Map.of(
+            "week", Map.of("id", weekId), "question", "Tour question?")));
+        if (newQuestionId != null) {
+            send("PUT", "/api/questions/{id}", "Tour question, reworded?", newQuestionId);
+            send("DELETE", "/api/questions/{id}", null, newQuestionId);
+        }
+        
+        Long answerId = id(send("POST", "/api/answers", Map.of(
+            "answer", "Tour answer", "question", Map.of("id", questionId), "user", Map.of("id", readerId))));
+        if (answerId != null) {
+            send("GET", "/api/answers/{id}", null, answerId);
+            send("PUT", "/api/answers/{id}", "Tour answer, edited", answerId);
+            send("DELETE", "/api/answers/{id}", null, answerId);
+        }
+        
+        if (registered != null) {
+            token = registered.get("token").asString();
+            send("POST", "/api/users/logout", null);
+        }
+    }
+    
+    // Sends one request; returns the parsed body, or null (recording the route as failing) on an error status.
+    // A streamed body (the export) is written out too, so the queries behind it run as well.
+    private JsonNode send(String method, String route, Object body, Object... pathValues) throws Exception {
+        MockHttpServletRequestBuilder builder = authorized(method, route, pathValues);
+        if (body instanceof String text) {
+            builder.contentType(MediaType.TEXT_PLAIN).content(text);
+        } else if (body != null) {
+            builder.contentType(MediaType.APPLICATION_JSON).content(mapper.writeValueAsString(body));
+        }
+        
+        MvcResult result = perform(builder);
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        int status = result.getResponse().getStatus();
+        if (status >= 400) {
+            failures.put(key(method, route), "answered HTTP " + status);
+            return null;
+        }
+        String contentType = result.getResponse().getContentType();
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON_VALUE)
+            ? mapper.readTree(result.getResponse().getContentAsString())
+            : null;
+    }
+    
+    // A read served with an ETag must answer 304 when asked again with it
+    private void revalidate(String route, Object... pathValues) throws Exception {
+        MvcResult result = perform(authorized("GET", route, pathValues));
+        int status = result.getResponse().getStatus();
+        if (status >= 400) {
+            failures.put(key("GET", route), "answered HTTP " + status);
+            return;
+        }
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        if (etag == null) {
+            failures.put(key("GET", route), "sent no ETag");
+            return;
+        }
+        int revalidated = perform(authorized("GET", route, pathValues).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .getResponse().getStatus();
+        if (revalidated != 304) {
+            failures.put(key("GET", route), "answered HTTP " + revalidated + " to its own ETag");
+        }
+    }
+    
+    // Opened the way EventSource does, with the stream token in the query string and no Authorization header.
+    // Only the subscription matters; the emitter is left open and never dispatched.
+    private void subscribe(String route, JsonNode streamToken, Object... pathValues) throws Exception {
+        if (streamToken == null) {
+            failures.put(key("GET", route), "could not get a stream token");
+            return;
+        }
+        int status = perform(request(HttpMethod.GET, route, pathValues)
+            .param("access_token", streamToken.get("token").asString())).getResponse().getStatus();
+        if (status >= 400) {
+            failures.put(key("GET", route), "answered HTTP " + status);
+        }
+    }
+    
+    // Counted under the route the request matched; an async dispatch is not, as the request was already counted
+    private MvcResult perform(RequestBuilder request) throws Exception {
+        MvcResult result;
+        int count;
+        CountingStatementInspector.start();
+        try {
+            result = mockMvc.perform(request).andReturn();
+        } finally {
+            count = CountingStatementInspector.stop();
+        }
+        Object pattern = result.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            statements.merge(result.getRequest().getMethod() + " " + pattern, count, Math::max);
+        }
+        return result;
+    }
+    
+    private MockHttpServletRequestBuilder authorized(String method, String route, Object... pathValues) {
+        return request(HttpMethod.valueOf(method), route, pathValues)
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+    
+    private static String key(String method, String route) {
+        int query = route.indexOf('?');
+        return method + " " + (query < 0 ? route : route.substring(0, query));
+    }
+    
+    private static Long id(JsonNode node) {
+        return node == null || !node.has("id") ? null : node.get("id").asLong();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.backend.support;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+// Wraps the backend's DataSource so every query executed while recording is kept together with the parameters
+// it was bound to, for a test to EXPLAIN afterwards. Only the first run of each distinct SQL string is kept.
+// Bring it in with @Import(QueryRecorder.class).
+public class QueryRecorder implements BeanPostProcessor {
+    private static final Map<String, List<Binding>> QUERIES = new ConcurrentHashMap<>();
+    private static volatile boolean recording;
+    
+    // One set* call on a prepared statement, replayed on the statement that explains it
+    public record Binding(Method setter, Object[] args) {
+        public void applyTo(PreparedStatement statement) throws ReflectiveOperationException {
+            setter.invoke(statement, args);
+        }
+    }
+    
+    public static void start() {
+        QUERIES.clear();
+        recording = true;
+    }
+    
+    public static void stop() {
+        recording = false;
+    }
+    
+    public static Map<String, List<Binding>> queries() {
+        return new TreeMap<>(QUERIES);
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        // Closeable too, so the context still shuts the pool down
+        Class<?>[] types = dataSource instanceof Closeable
+            ? new Class<?>[] {DataSource.class, Closeable.class}
+            : new Class<?>[] {DataSource.class};
+        return Proxy.newProxyInstance(QueryRecorder.class.getClassLoader(), types, (proxy, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            return result instanceof Connection connection ? connection(connection) : result;
+        });
+    }
+    
+    private static Connection connection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(QueryRecorder.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                    return statement((String) args[0], statement);
+                }
+                return result;
+            });
+    }
+    
+    private static PreparedStatement statement(String sql, PreparedStatement target) {
+        List<Binding> bindings = new ArrayList<>();
+        return (PreparedStatement) Proxy.newProxyInstance(QueryRecorder.class.getClassLoader(),
+            new Class<?>[] {PreparedStatement.class},
+            (proxy, method, args) -> {
+                if (isParameterSetter(method, args)) {
+                    bindings.add(new Binding(method, args.clone()));
+                } else if (method.getName().equals("clearParameters")) {
+                    bindings.clear();
+                } else if (method.getName().equals("executeQuery") && args == null && recording) {
+                    QUERIES.putIfAbsent(sql, List.copyOf(bindings));
+                }
+                return invoke(target, method, args);
+            });
+    }
+    
+    // setLong(int, long), setObject(int, Object, int) and the like; not setFetchSize(int) or setMaxRows(int)
+    private static boolean isParameterSetter(Method method, Object[] args) {
+        return method.getName().startsWith("set") && args != null && args.length >= 2
+            && method.getParameterTypes()[0] == int.class;
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+-- The schema ddl-auto: update created from the entities before Flyway took over, with a little data in it:
+-- IDENTITY ids, no versions or counters, a comment without a creation time and a member who answered twice.
+
+create table books (id bigint generated by default as identity, author varchar(255), created_at timestamp(6), is_active boolean, title varchar(255) not null, total_chapters integer, primary key (id));
+create table chapters (chapter_number integer, id bigint generated by default as identity, week_id bigint, title varchar(255), primary key (id));
+create table comments (chapter_id bigint, created_at timestamp(6), id bigint generated by default as identity, updated_at timestamp(6), user_id bigint, content TEXT, primary key (id));
+create table question_answers (created_at timestamp(6), id bigint generated by default as identity, question_id bigint, user_id bigint, answer TEXT, primary key (id));
+create table users (current_chapter integer, created_at timestamp(6), id bigint generated by default as identity, email varchar(255) not null, password varchar(255) not null, username varchar(255) not null unique, primary key (id));
+create table weekly_questions (created_at timestamp(6), id bigint generated by default as identity, week_id bigint, question TEXT, primary key (id));
+create table weeks (end_date date, start_date date, week_number integer, book_id bigint, id bigint generated by default as identity, title varchar(255), primary key (id));
+alter table if exists chapters add constraint FKaajpqv1kbsg3fqnyd5q7pmalq foreign key (week_id) references weeks;
+alter table if exists comments add constraint FKpkxumqqyyx8a5n5ogchnmd6g4 foreign key (chapter_id) references chapters;
+alter table if exists comments add constraint FK8omq0tc18jd43bu5tjh6jvraq foreign key (user_id) references users;
+alter table if exists question_answers add constraint FKrms3u35c10orgjqyw03ajd7m8 foreign key (question_id) references weekly_questions;
+alter table if exists question_answers add constraint FK6sbx0hxtpqm3o0pqv3g2r5cm5 foreign key (user_id) references users;
+alter table if exists weekly_questions add constraint FK3m2k1g4ekaxb5bjxkx9wt0n0m foreign key (week_id) references weeks;
+alter table if exists weeks add constraint FK5h3ixq0k3f0s6wvb0y7qk9n3c foreign key (book_id) references books;
+
+insert into users (id, username, password, email, current_chapter, created_at) values
+    (1, 'early-reader', 'secret', 'early@example.com', 2, '2024-01-05 10:00'),
+    (2, 'late-reader', 'secret', 'late@example.com', 1, '2024-01-06 10:00');
+insert into books (id, title, author, total_chapters, is_active, created_at) values
+    (1, 'The Lighthouse', 'A. Keeper', 2, true, '2024-01-05 09:00');
+insert into weeks (id, book_id, week_number, title, start_date, end_date) values
+    (1, 1, 1, 'Week 1', '2024-01-08', '2024-01-14');
+insert into chapters (id, week_id, chapter_number, title) values
+    (1, 1, 1, 'Arrival'),
+    (2, 1, 2, 'The Lamp');
+insert into comments (id, chapter_id, user_id, content, created_at, updated_at) values
+    (1, 1, 1, 'The keeper knows more than he says.', '2024-01-08 20:00', '2024-01-08 20:00'),
+    (2, 1, 2, 'Agreed.', null, '2024-01-09 08:00'),
+    (3, 1, 2, 'Still agreed.', null, null);
+insert into weekly_questions (id, week_id, question, created_at) values
+    (1, 1, 'Who lit the lamp?', '2024-01-08 09:00');
+insert into question_answers (id, question_id, user_id, answer, created_at) values
+    (1, 1, 1, 'The keeper.', '2024-01-09 10:00'),
+    (2, 1, 1, 'The keeper''s daughter.', '2024-01-10 10:00'),
+    (3, 1, 2, 'Nobody.', '2024-01-10 11:00');
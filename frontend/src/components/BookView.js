@@ -1,5 +1,5 @@
 import React, { useState, useEffect } from 'react';
-import api from '../services/api';
+import api, { authAPI, bookAPI } from '../services/api';
 import WeekDropdown from './WeekDropdown';
 import ProgressTracker from './ProgressTracker';
 import './BookView.css';
@@ -24,9 +24,9 @@ function BookView() {
     const fetchCurrentBook = async () => {
         try {
             setLoading(true);
-            const response = await api.get('/books/current');
+            const response = await bookAPI.getOutline();
             setBook(response.data);
-            fetchWeeks(response.data.id);
+            setWeeks(Array.isArray(response.data.weeks) ? response.data.weeks : []);
         } catch (err) {
             setError('No active book found. Please contact an administrator to set up a book.');
             console.error('Error fetching book:', err);
@@ -35,16 +35,6 @@ function BookView() {
         }
     };
 
-    const fetchWeeks = async (bookId) => {
-        try {
-            const response = await api.get(`/books/${bookId}/weeks`);
-            setWeeks(Array.isArray(response.data) ? response.data : []);
-        } catch (err) {
-            console.error('Error fetching weeks:', err);
-            setWeeks([]);
-        }
-    };
-
     const toggleWeek = (weekId) => {
         setExpandedWeek(expandedWeek === weekId ? null : weekId);
     };
@@ -65,7 +55,12 @@ function BookView() {
         }
     };
 
-    const handleLogout = () => {
+    const handleLogout = async () => {
+        try {
+            await authAPI.logout();
+        } catch (err) {
+            console.error('Error logging out:', err);
+        }
         localStorage.clear();
         window.location.href = '/login';
     };
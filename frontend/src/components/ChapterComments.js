@@ -1,10 +1,12 @@
 import React, { useState, useEffect } from 'react';
-import { commentAPI } from '../services/api';
+import { commentAPI, streamUrl } from '../services/api';
 import './ChapterComments.css';
 import { BsFeather } from "react-icons/bs";
 
 function ChapterComments({ chapter }) {
     const [comments, setComments] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [newComment, setNewComment] = useState('');
     const [loading, setLoading] = useState(false);
     const [submitting, setSubmitting] = useState(false);
@@ -15,11 +17,60 @@ function ChapterComments({ chapter }) {
         fetchComments();
     }, [chapter.id]);
 
+    useEffect(() => {
+        let source = null;
+        let retry = null;
+        let closed = false;
+
+        const open = async () => {
+            let url;
+            try {
+                url = await streamUrl(`/comments/chapter/${chapter.id}/stream`);
+            } catch (err) {
+                console.error('Failed to open the comment stream:', err);
+                return;
+            }
+            if (closed) return;
+            source = new EventSource(url);
+
+            source.addEventListener('comment-created', (e) => {
+                const comment = JSON.parse(e.data);
+                setComments(prev => prev.some(c => c.id === comment.id) ? prev : [comment, ...prev]);
+            });
+            source.addEventListener('comment-updated', (e) => {
+                const comment = JSON.parse(e.data);
+                setComments(prev => prev.map(c => c.id === comment.id ? { ...c, ...comment } : c));
+            });
+            source.addEventListener('comment-deleted', (e) => {
+                const { id } = JSON.parse(e.data);
+                setComments(prev => prev.filter(c => c.id !== id));
+            });
+
+            // The stream token expires a minute after it is issued, so EventSource's own reconnect with the
+            // same URL would be refused; reconnect with a fresh token instead
+            source.onerror = () => {
+                source.close();
+                if (!closed) {
+                    retry = setTimeout(open, 3000);
+                }
+            };
+        };
+
+        open();
+
+        return () => {
+            closed = true;
+            clearTimeout(retry);
+            if (source) source.close();
+        };
+    }, [chapter.id]);
+
     const fetchComments = async () => {
         setLoading(true);
         try {
-            const response = await commentAPI.getByChapter(chapter.id);
-            setComments(response.data);
+            const response = await commentAPI.getPageByChapter(chapter.id);
+            setComments(response.data.comments);
+            setNextCursor(response.data.nextCursor);
         } catch (err) {
             console.error('Failed to load comments:', err);
         } finally {
@@ -27,6 +78,21 @@ function ChapterComments({ chapter }) {
         }
     };
 
+    const loadMoreComments = async () => {
+        if (!nextCursor) return;
+
+        setLoadingMore(true);
+        try {
+            const response = await commentAPI.getPageByChapter(chapter.id, nextCursor);
+            setComments(prev => [...prev, ...response.data.comments]);
+            setNextCursor(response.data.nextCursor);
+        } catch (err) {
+            console.error('Failed to load more comments:', err);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleSubmit = async (e) => {
         e.preventDefault();
         if (!newComment.trim()) return;
@@ -43,7 +109,7 @@ function ChapterComments({ chapter }) {
             };
 
             const response = await commentAPI.create(commentData);
-            setComments([response.data, ...comments]);
+            setComments(prev => prev.some(c => c.id === response.data.id) ? prev : [response.data, ...prev]);
             setNewComment('');
         } catch (err) {
             console.error('Failed to post comment:', err);
@@ -124,7 +190,7 @@ function ChapterComments({ chapter }) {
             </div>
 
             <div className="comments-list">
-                <h4>Discussion ({comments.length})</h4>
+                <h4>Discussion ({Math.max(chapter.commentCount || 0, comments.length)})</h4>
                 {loading ? (
                     <div className="loading-comments">Loading comments...</div>
                 ) : comments.length === 0 ? (
@@ -195,6 +261,15 @@ function ChapterComments({ chapter }) {
                         </div>
                     ))
                 )}
+                {nextCursor && !loading && (
+                    <button
+                        onClick={loadMoreComments}
+                        className="load-more-btn"
+                        disabled={loadingMore}
+                    >
+                        {loadingMore ? 'Loading...' : 'Load older comments'}
+                    </button>
+                )}
             </div>
         </div>
     );
@@ -21,8 +21,10 @@ function Login() {
             const response = await authAPI.login(username, password);
             
             if (response.data) {
-                localStorage.setItem('userId', response.data.id);
-                localStorage.setItem('currentUser', JSON.stringify(response.data));
+                const { token, ...currentUser } = response.data;
+                localStorage.setItem('token', token);
+                localStorage.setItem('userId', currentUser.id);
+                localStorage.setItem('currentUser', JSON.stringify(currentUser));
                 
                 navigate('/');
             }
@@ -50,8 +52,10 @@ function Login() {
             
             if (response.data) {
                 // Auto login after registration
-                localStorage.setItem('userId', response.data.id);
-                localStorage.setItem('currentUser', JSON.stringify(response.data));
+                const { token, ...currentUser } = response.data;
+                localStorage.setItem('token', token);
+                localStorage.setItem('userId', currentUser.id);
+                localStorage.setItem('currentUser', JSON.stringify(currentUser));
                 
                 navigate('/');
             }
@@ -16,8 +16,8 @@ function ProgressTracker({ totalChapters, currentUserId }) {
     const fetchAllUsers = async () => {
         setLoading(true);
         try {
-            const response = await api.get('/users');
-            setUsers(response.data);
+            const response = await api.get('/books/current/progress');
+            setUsers(response.data.readers);
         } catch (err) {
             console.error('Error fetching users:', err);
         } finally {
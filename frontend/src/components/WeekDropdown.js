@@ -6,7 +6,7 @@ import './WeekDropdown.css';
 import { BsChatSquareHeart } from "react-icons/bs";
 
 function WeekDropdown({ week, isExpanded, onToggle, currentChapter, onProgressUpdate }) {
-    const [chapters, setChapters] = useState([]);
+    const [chapters, setChapters] = useState(week.chapters || []);
     const [selectedChapter, setSelectedChapter] = useState(null);
     const [loading, setLoading] = useState(false);
     const [showQuestions, setShowQuestions] = useState(false);
@@ -110,9 +110,9 @@ function WeekDropdown({ week, isExpanded, onToggle, currentChapter, onProgressUp
                                                     </span>
                                                 </div>
                                                 <div className="chapter-meta">
-                                                    {chapter.comments && chapter.comments.length > 0 && (
+                                                    {chapter.commentCount > 0 && (
                                                         <span className="comment-count">
-                                                            <BsChatSquareHeart /> {chapter.comments.length}
+                                                            <BsChatSquareHeart /> {chapter.commentCount}
                                                         </span>
                                                     )}
                                                     <span className="chapter-arrow">
@@ -1,6 +1,6 @@
 import axios from 'axios';
 
-const API_BASE_URL = process.env.REACT_APP_API_URL || 'http://localhost:8080/api';
+export const API_BASE_URL = process.env.REACT_APP_API_URL || 'http://localhost:8080/api';
 console.log('API Base URL:', API_BASE_URL);
 const api = axios.create({
     baseURL: API_BASE_URL,
@@ -13,24 +13,39 @@ const api = axios.create({
 api.interceptors.request.use(
     (config) => {
         const token = localStorage.getItem('token');
-        const username = localStorage.getItem('username');
-        const password = localStorage.getItem('password');
         
         if (token) {
             config.headers.Authorization = `Bearer ${token}`;
-        } else if (username && password) {
-            // Basic Auth
-            const credentials = btoa(`${username}:${password}`);
-            config.headers.Authorization = `Basic ${credentials}`;
         }
         return config;
     },
     (error) => Promise.reject(error)
 );
 
+// Expired or revoked tokens send the user back to the login page
+api.interceptors.response.use(
+    (response) => response,
+    (error) => {
+        if (error.response?.status === 401 && localStorage.getItem('token')) {
+            localStorage.clear();
+            window.location.href = '/login';
+        }
+        return Promise.reject(error);
+    }
+);
+
+// EventSource cannot send headers, so a stream carries a token in its query string. That token is a
+// short-lived stream token fetched for the purpose; the session token never goes into a URL.
+export const streamUrl = async (path) => {
+    const { data } = await api.post('/users/stream-token');
+    return `${API_BASE_URL}${path}?access_token=${encodeURIComponent(data.token)}`;
+};
+
 // API Methods
 export const bookAPI = {
     getCurrentBook: () => api.get('/books/current'),
+    getOutline: () => api.get('/books/current/outline'),
+    getProgress: () => api.get('/books/current/progress'),
     getWeeks: (bookId) => api.get(`/books/${bookId}/weeks`),
     createBook: (book) => api.post('/books', book),
     setActiveBook: (bookId) => api.put(`/books/${bookId}/activate`),
@@ -44,6 +59,7 @@ export const weekAPI = {
 
 export const commentAPI = {
     getByChapter: (chapterId) => api.get(`/comments/chapter/${chapterId}`),
+    getPageByChapter: (chapterId, cursor) => api.get(`/comments/chapter/${chapterId}/page`, { params: { cursor } }),
     create: (comment) => api.post('/comments', comment),
     update: (id, content) => api.put(`/comments/${id}`, content),
     delete: (id) => api.delete(`/comments/${id}`),
@@ -51,6 +67,7 @@ export const commentAPI = {
 
 export const authAPI = {
     login: (username, password) => api.post('/users/login', { username, password }),
+    logout: () => api.post('/users/logout'),
     register: (user) => api.post('/users/register', user),
 };
 
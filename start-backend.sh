@@ -3,4 +3,4 @@
 
 cd backend
 ./mvnw clean package -DskipTests
-java -jar target/*.jar --server.port=$PORT
+java -jar target/*-exec.jar --server.port=$PORT